@@ -16,7 +16,8 @@ public class KarnaughMap
     String[] variablesNames;
     GroupingMode groupingMode;
     MintermTable groupsTable;
-    int[] usedMinterms;
+    // indices, no mapa unidimensional, dos mintermos ja' colocados em algum grupo
+    IntBitSet usedMinterms;
     int[] statistics;
     
     public enum GroupingMode
@@ -45,7 +46,7 @@ public class KarnaughMap
             char[][] mintermsAsBinary = mintermTable.getAllMintermsAsBinary();
             mintermsMap = new char[graySequence1.length][graySequence2.length];
             decimalMintermsMap = new int[graySequence1.length][graySequence2.length];
-            usedMinterms = new int[(int) Math.pow(getTotalNumberOfCombinationsBetweenVariables(), 2)];
+            usedMinterms = new IntBitSet( getTotalNumberOfCombinationsBetweenVariables() );
             char[] currentMinterm;
             int grayIndex;
 
@@ -405,19 +406,27 @@ public class KarnaughMap
         HD2 com o mintermo no índice mintermIndex.
         */
         int[] indexesOfHD1Minterms = getIndexesOfHD1MintermsOf(mintermIndex);
-        int[] indexesOfHD2Minterms = new int[getNumberOfHD2Minterms()];
-        Arrays.fill(indexesOfHD2Minterms, -1);
+        IntArrayList indexesOfHD2Minterms = new IntArrayList( getNumberOfHD2Minterms() );
+        // mintermos ja' colocados na lista, mais o proprio mintermo base
+        IntHashSet foundMinterms = new IntHashSet( getNumberOfHD2Minterms() + 1 );
         int[] auxiliarIndexesOfHD1Minterms;
-        int[] valuesToIgnore = new int[] { mintermIndex };
+        
+        foundMinterms.add(mintermIndex);
         
         for (int i = 0; i < indexesOfHD1Minterms.length; i++)
         {
             auxiliarIndexesOfHD1Minterms = getIndexesOfHD1MintermsOf(indexesOfHD1Minterms[i]);
             
-            Array.addEachValueIfItDoesntExistInArray(indexesOfHD2Minterms, auxiliarIndexesOfHD1Minterms, valuesToIgnore);
+            for (int j = 0; j < auxiliarIndexesOfHD1Minterms.length; j++)
+            {
+                if (foundMinterms.add(auxiliarIndexesOfHD1Minterms[j]))
+                {
+                    indexesOfHD2Minterms.add(auxiliarIndexesOfHD1Minterms[j]);
+                }
+            }
         }
         
-        return indexesOfHD2Minterms;
+        return indexesOfHD2Minterms.toArray();
     }
     
     /**
@@ -505,13 +514,16 @@ public class KarnaughMap
         Arrays.fill(newGroup, -1);
         int indexOfNthHDMinterm;
         boolean allMintermsHasNthHDMinterm = 0 < numberOfElements;
+        IntHashSet membersOfTheGroup = new IntHashSet(numberOfElements);
+        
+        membersOfTheGroup.addAll(mintermsGroup);
         
         for (int i = 0; allMintermsHasNthHDMinterm && i < numberOfElements; i++)
         {
             indexOfNthHDMinterm = getMintermThatDoesHDWith(mintermsGroup[i], nthHDMinterm);
             allMintermsHasNthHDMinterm =
                     mintermMakesFuncReturnTrueOrIsADontCare(indexOfNthHDMinterm) &&
-                    !Array.contains(indexOfNthHDMinterm, mintermsGroup);
+                    !membersOfTheGroup.contains(indexOfNthHDMinterm);
             
             if (allMintermsHasNthHDMinterm)
             {
@@ -833,7 +845,7 @@ public class KarnaughMap
      * {@code tableOfGroupsOfMinterms}.
      */
     
-    private boolean allMintermsOfTheGroupWereUsed(TableLine mintermGroup, MintermTable tableOfGroupsOfMinterms, int[] groupsToIgnore)
+    private boolean allMintermsOfTheGroupWereUsed(TableLine mintermGroup, MintermTable tableOfGroupsOfMinterms, IntBitSet groupsToIgnore)
     {
         int[] mintermsAsDecimal = mintermGroup.mintermsAsDecimal;
         boolean found = true;
@@ -844,7 +856,7 @@ public class KarnaughMap
             // don't cares sao ignorados
             if (!mintermIsADontCare(mintermsAsDecimal[i]))
             {
-                found = ( tableOfGroupsOfMinterms.indexesOf(mintermsAsDecimal[i], groupsToIgnore).length > 1 );
+                found = ( tableOfGroupsOfMinterms.getNumberOfLinesWith(mintermsAsDecimal[i], groupsToIgnore) > 1 );
             }
         }
         
@@ -873,9 +885,7 @@ public class KarnaughMap
             int oldTableLength = tableOfGroupsOfMinterms.numberOfLines;
             TableLine tableLine;
             newMintermTable = new MintermTable(oldTableLength);
-            int[] groupsToIgnore = new int[oldTableLength];
-            Arrays.fill(groupsToIgnore, -1);
-            int counterOfGroupsToIgnore = 0;
+            IntBitSet groupsToIgnore = new IntBitSet(oldTableLength);
             
             for (int i = 0; i < oldTableLength; i++)
             {
@@ -888,7 +898,7 @@ public class KarnaughMap
                 
                 else
                 {
-                    groupsToIgnore[counterOfGroupsToIgnore++] = i;
+                    groupsToIgnore.add(i);
                 }
             }
         }
@@ -912,9 +922,7 @@ public class KarnaughMap
             int numberOfLines = getNumberOfLines();
             int numberOfColumns = getNumberOfColumns();
             int mintermIndex;
-            int[] indexesOfMintermsOfTheGroup;
-            Arrays.fill(usedMinterms, -1);
-            int counterOfUsedMinterms = 0;
+            usedMinterms.clear();
 
             for (int i = 0; i < numberOfLines; i++)
             {
@@ -924,17 +932,10 @@ public class KarnaughMap
                     {
                         mintermIndex = convertTo1D(i, j);
 
-                        if (!Array.contains(mintermIndex, usedMinterms))
+                        if (!usedMinterms.contains(mintermIndex))
                         {
                             groupsTable.addLine( getMintermBestGroup(i, j) );
-                            indexesOfMintermsOfTheGroup = groupsTable.getLastLine().mintermsAsDecimal;
-
-                            System.arraycopy(
-                                    indexesOfMintermsOfTheGroup, 0,
-                                    usedMinterms, counterOfUsedMinterms,
-                                    indexesOfMintermsOfTheGroup.length);
-
-                            counterOfUsedMinterms += indexesOfMintermsOfTheGroup.length;
+                            usedMinterms.addAll( groupsTable.getLastLine().mintermsAsDecimal );
                         }
                     }
                 }
@@ -1306,9 +1307,10 @@ public class KarnaughMap
             int numberOfLines = getNumberOfLines();
             int numberOfColumns = getNumberOfColumns();
             int numberOfVariablesOfGray2 = getNumberOfVariablesOfGray2();
-            int[] group = groupsTable.table[groupIndex].mintermsAsDecimal;
+            IntHashSet group = new IntHashSet(groupsTable.table[groupIndex].mintermsAsDecimal.length);
             char minterm;
             
+            group.addAll(groupsTable.table[groupIndex].mintermsAsDecimal);
             line += getHeaderGraySequence();
             
             IO.println(line + "\n");
@@ -1323,7 +1325,7 @@ public class KarnaughMap
 
                 for (int j = 0; j < numberOfColumns; j++)
                 {
-                	minterm = ( Array.contains(convertTo1D(i, j), group) ? mintermsMap[i][j] : ' ' );
+                	minterm = ( group.contains( convertTo1D(i, j) ) ? mintermsMap[i][j] : ' ' );
                     line += " " + Strings.center("" + minterm, numberOfVariablesOfGray2);
                 }
 
@@ -1408,7 +1410,7 @@ public class KarnaughMap
 
     public void printStatistics()
     {
-        if (statistics != null && Array.getNumberOfElementsOf(usedMinterms) > 0)
+        if (statistics != null && !usedMinterms.isEmpty())
         {
             int groupCount;
             int numberOfElements;
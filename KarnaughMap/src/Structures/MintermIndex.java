@@ -0,0 +1,158 @@
+package Structures;
+
+import Util.*;
+import java.util.Arrays;
+
+/**
+ * Indice invertido de uma {@code MintermTable}: para cada mintermo, as linhas
+ * que o contem. E' guardado no formato CSR, em arranjos de primitivos: as
+ * entradas do mintermo {@code minterms[k]} ficam nas posicoes de
+ * {@code firstEntry[k]} ate' {@code firstEntry[k + 1] - 1} dos arranjos
+ * {@code entryLines} e {@code entryColumns}.
+ *
+ * <p>Os mintermos podem ser don't cares codificados como valores negativos,
+ * entao o indice guarda os mintermos distintos em ordem crescente e os
+ * encontra por busca binaria. Cada consulta custa essa busca mais a
+ * quantidade de linhas que contem o mintermo.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class MintermIndex
+{
+    // mintermos distintos da tabela, em ordem crescente
+    int[] minterms;
+    int[] firstEntry;
+    // linha de cada entrada, em ordem crescente dentro de cada mintermo
+    int[] entryLines;
+    // posicao do mintermo no arranjo mintermsAsDecimal da linha da entrada
+    int[] entryColumns;
+
+    MintermIndex(MintermTable mintermTable)
+    {
+        TableLine[] table = mintermTable.table;
+        int numberOfLines = mintermTable.numberOfLines;
+        IntHashSet distinctMinterms = new IntHashSet();
+
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            distinctMinterms.addAll(table[i].mintermsAsDecimal);
+        }
+
+        minterms = distinctMinterms.toArray();
+        Arrays.sort(minterms);
+        firstEntry = new int[minterms.length + 1];
+
+        // ultima linha contada para cada mintermo. Um mintermo repetido numa
+        // linha so' gera uma entrada, com a primeira posicao dele, como
+        // Array.indexOf faria
+        int[] lastLineOf = new int[minterms.length];
+        int[] mintermsAsDecimal;
+        int k;
+
+        // 1. conta as linhas de cada mintermo na posicao seguinte a dele
+        Arrays.fill(lastLineOf, -1);
+
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            mintermsAsDecimal = table[i].mintermsAsDecimal;
+
+            for (int j = 0; j < mintermsAsDecimal.length; j++)
+            {
+                k = Arrays.binarySearch(minterms, mintermsAsDecimal[j]);
+
+                if (lastLineOf[k] != i)
+                {
+                    lastLineOf[k] = i;
+                    firstEntry[k + 1]++;
+                }
+            }
+        }
+
+        // 2. transforma as contagens em posicoes iniciais
+        for (k = 0; k < minterms.length; k++)
+        {
+            firstEntry[k + 1] += firstEntry[k];
+        }
+
+        entryLines = new int[ firstEntry[minterms.length] ];
+        entryColumns = new int[ entryLines.length ];
+
+        int[] nextEntry = Arrays.copyOf(firstEntry, minterms.length);
+
+        // 3. preenche as entradas na ordem das linhas
+        Arrays.fill(lastLineOf, -1);
+
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            mintermsAsDecimal = table[i].mintermsAsDecimal;
+
+            for (int j = 0; j < mintermsAsDecimal.length; j++)
+            {
+                k = Arrays.binarySearch(minterms, mintermsAsDecimal[j]);
+
+                if (lastLineOf[k] != i)
+                {
+                    lastLineOf[k] = i;
+                    entryLines[ nextEntry[k] ] = i;
+                    entryColumns[ nextEntry[k]++ ] = j;
+                }
+            }
+        }
+    }
+
+    /**
+     * Conta quantas linhas contem o mintermo, sem contar as linhas em
+     * {@code linesToIgnore}.
+     *
+     * @param minterm mintermo a ser procurado
+     * @param linesToIgnore indices das linhas a serem ignoradas
+     *
+     * @return Quantidade de linhas que contem o mintermo.
+     */
+
+    int getNumberOfLinesOf(int minterm, IntBitSet linesToIgnore)
+    {
+        int k = Arrays.binarySearch(minterms, minterm);
+        int numberOfLines = 0;
+
+        if (k >= 0)
+        {
+            for (int e = firstEntry[k]; e < firstEntry[k + 1]; e++)
+            {
+                if (!linesToIgnore.contains(entryLines[e])) numberOfLines++;
+            }
+        }
+
+        return numberOfLines;
+    }
+
+    /**
+     * Obtem os pares (linha, coluna) onde o mintermo aparece, no formato do
+     * metodo MintermTable.indexesOf.
+     *
+     * @param minterm mintermo a ser procurado
+     * @param linesToIgnore indices das linhas a serem ignoradas
+     *
+     * @return Matriz com uma linha para cada linha da tabela que contem o
+     * mintermo.
+     */
+
+    int[][] indexesOf(int minterm, IntBitSet linesToIgnore)
+    {
+        int[][] indexes = new int[ getNumberOfLinesOf(minterm, linesToIgnore) ][2];
+        int k = Arrays.binarySearch(minterms, minterm);
+        int indexesCounter = 0;
+
+        for (int e = ( k >= 0 ? firstEntry[k] : 0 ); indexesCounter < indexes.length; e++)
+        {
+            if (!linesToIgnore.contains(entryLines[e]))
+            {
+                indexes[indexesCounter][0] = entryLines[e];
+                indexes[indexesCounter++][1] = entryColumns[e];
+            }
+        }
+
+        return indexes;
+    }
+}
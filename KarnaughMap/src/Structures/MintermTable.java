@@ -11,12 +11,16 @@ public class MintermTable
     TableLine[] table;
     int numberOfLines;
     boolean isPossibleToSimplify;
+    // indice invertido mintermo -> linhas, montado pelo metodo getMintermIndex
+    // na primeira consulta e descartado sempre que uma linha e' adicionada
+    MintermIndex mintermIndex;
 
     private MintermTable(TableLine[] table)
     {
         this.table = table;
         this.numberOfLines = 0;
         this.isPossibleToSimplify = true;
+        this.mintermIndex = null;
     }
 
     public MintermTable(int tableSize)
@@ -201,6 +205,7 @@ public class MintermTable
         if (numberOfLines < table.length)
         {
             table[numberOfLines++] = new TableLine(mintermsAsDecimal, mintermAsBinary);
+            mintermIndex = null;
         }
     }
 
@@ -215,21 +220,37 @@ public class MintermTable
         if (numberOfLines < table.length)
         {
             table[numberOfLines++] = tableLine;
+            mintermIndex = null;
         }
     }
 
     /**
-     * Procura o valor {@code minterm} por toda a tabela e vai guardando em
-     * pares os indices das linhas e colunas, respectivamente, onde ele for
-     * encontrado. Caso nao seja encontrado, a funcao retorna uma matriz
-     * com 0 linhas. E' possivel tambem ignorar algumas linhas da tabela
-     * colocando os seus indices no arranjo {@code linesToIgnore}. Porem, caso
-     * o arranjo nao tenha o tamanho igual a quantidade de linhas a serem
-     * ignoradas e' necessario preencher as posicoes restantes com valores -1.
+     * Obtem o indice invertido mintermo -> linhas da tabela, montando-o caso
+     * alguma linha tenha sido adicionada desde a ultima consulta.
+     * 
+     * @return Indice invertido das linhas atuais da tabela.
+     */
+
+    MintermIndex getMintermIndex()
+    {
+        if (mintermIndex == null)
+        {
+            mintermIndex = new MintermIndex(this);
+        }
+
+        return mintermIndex;
+    }
+
+    /**
+     * Procura o valor {@code minterm} na tabela e obtem em pares os indices
+     * das linhas e colunas, respectivamente, onde ele aparece. Caso nao seja
+     * encontrado, a funcao retorna uma matriz com 0 linhas. E' possivel
+     * tambem ignorar algumas linhas da tabela colocando os seus indices no
+     * conjunto {@code linesToIgnore}. A consulta usa o {@code MintermIndex}
+     * da tabela, entao nao percorre as linhas que nao tem o mintermo.
      * 
      * @param minterm mintermo a ser procurado
-     * @param linesToIgnore arranjo de indices das linhas a serem ignoradas na
-     * pesquisa.
+     * @param linesToIgnore indices das linhas a serem ignoradas na pesquisa
      * 
      * @return Matriz em que cada linha tem um par de indices que representa
      * a linha e a coluna onde o mintermo foi encontrado. A matriz tera' <i>n</i>
@@ -237,27 +258,25 @@ public class MintermTable
      * encontrado.
      */
 
-    public int[][] indexesOf(int minterm, int[] linesToIgnore)
+    public int[][] indexesOf(int minterm, IntBitSet linesToIgnore)
     {
-        int column;
-        int[][] indexes = new int[numberOfLines][2];
-        int indexesCounter = 0;
+        return getMintermIndex().indexesOf(minterm, linesToIgnore);
+    }
 
-        for (int i = 0; i < numberOfLines; i++)
-        {
-            if (!Array.contains(i, linesToIgnore))
-            {
-                column = Array.indexOf(minterm, table[i].mintermsAsDecimal);
+    /**
+     * Conta em quantas linhas da tabela o mintermo aparece, sem contar as
+     * linhas em {@code linesToIgnore} e sem gerar os pares do metodo
+     * indexesOf.
+     * 
+     * @param minterm mintermo a ser procurado
+     * @param linesToIgnore indices das linhas a serem ignoradas na pesquisa
+     * 
+     * @return Quantidade de linhas que contem o mintermo.
+     */
 
-                if (column != -1)
-                {
-                    indexes[indexesCounter][0] = i;
-                    indexes[indexesCounter++][1] = column;
-                }
-            }
-        }
-        
-        return Array.fit(indexes, indexesCounter);
+    public int getNumberOfLinesWith(int minterm, IntBitSet linesToIgnore)
+    {
+        return getMintermIndex().getNumberOfLinesOf(minterm, linesToIgnore);
     }
 
     /**
@@ -276,7 +295,7 @@ public class MintermTable
 
     public int[][] indexesOf(int minterm)
     {
-        return indexesOf(minterm, new int[] { -1 });
+        return indexesOf(minterm, new IntBitSet(0));
     }
 
     /**
@@ -0,0 +1,90 @@
+package Util;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de {@code int} nao negativos guardado como um conjunto de bits, em
+ * que o valor {@code i} fica no bit {@code i % 64} da posicao {@code i / 64}
+ * de um arranjo de {@code long}. Serve para quando os valores sao indices
+ * densos, como as posicoes do mapa de Karnaugh ou as linhas de uma tabela:
+ * adicionar e procurar um valor custam O(1) e o conjunto cresce quando
+ * recebe um valor alem do tamanho inicial.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class IntBitSet
+{
+    long[] bits;
+
+    public IntBitSet(int numberOfBits)
+    {
+        this.bits = new long[ ( numberOfBits + 63 ) >>> 6 ];
+    }
+
+    public boolean contains(int value)
+    {
+        return ( value >>> 6 ) < bits.length && ( bits[value >>> 6] & ( 1L << value ) ) != 0;
+    }
+
+    public void add(int value)
+    {
+        if (( value >>> 6 ) >= bits.length)
+        {
+            bits = Arrays.copyOf(bits, Math.max(bits.length * 2, ( value >>> 6 ) + 1));
+        }
+
+        bits[value >>> 6] |= 1L << value;
+    }
+
+    public void remove(int value)
+    {
+        if (( value >>> 6 ) < bits.length)
+        {
+            bits[value >>> 6] &= ~( 1L << value );
+        }
+    }
+
+    /**
+     * Adiciona todos os valores do arranjo ao conjunto.
+     *
+     * @param array valores a serem adicionados
+     */
+
+    public void addAll(int[] array)
+    {
+        for (int i = 0; i < array.length; i++)
+        {
+            add(array[i]);
+        }
+    }
+
+    public void clear()
+    {
+        Arrays.fill(bits, 0);
+    }
+
+    public int size()
+    {
+        int size = 0;
+
+        for (int i = 0; i < bits.length; i++)
+        {
+            size += Long.bitCount(bits[i]);
+        }
+
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        boolean isEmpty = true;
+
+        for (int i = 0; isEmpty && i < bits.length; i++)
+        {
+            isEmpty = ( bits[i] == 0 );
+        }
+
+        return isEmpty;
+    }
+}
@@ -0,0 +1,196 @@
+package Util;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de {@code int} numa tabela hash de enderecamento aberto, sem
+ * criar um {@code Integer} por valor. Substitui os arranjos preenchidos com
+ * -1 e percorridos pelo metodo Array.contains: adicionar e procurar um valor
+ * custam O(1) em vez de O(n).
+ *
+ * <p>A tabela dobra de tamanho quando fica mais que metade ocupada. A posicao
+ * com 0 significa vazia, entao o proprio valor 0 e' guardado a parte.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class IntHashSet
+{
+    int[] values;
+    int positionsMask;
+    int size;
+    boolean containsZero;
+
+    public IntHashSet()
+    {
+        this(8);
+    }
+
+    /**
+     * Cria um conjunto com espaco suficiente para {@code expectedSize}
+     * valores sem precisar crescer.
+     *
+     * @param expectedSize quantidade de valores esperada
+     */
+
+    public IntHashSet(int expectedSize)
+    {
+        int capacity = Integer.highestOneBit( Math.max(2, expectedSize) * 2 - 1 ) * 2;
+
+        this.values = new int[capacity];
+        this.positionsMask = capacity - 1;
+        this.size = 0;
+        this.containsZero = false;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Esvazia o conjunto mantendo a tabela hash para que possa ser
+     * reaproveitada.
+     */
+
+    public void clear()
+    {
+        Arrays.fill(values, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    private int getFirstPosition(int value)
+    {
+        int hash = value * 0x9E3779B9;
+
+        return ( hash ^ ( hash >>> 16 ) ) & positionsMask;
+    }
+
+    /**
+     * Procura a posicao da tabela hash onde o valor esta' ou, caso ele nao
+     * esteja no conjunto, a posicao vazia onde ele deveria ser colocado.
+     */
+
+    private int getPosition(int value)
+    {
+        int position = getFirstPosition(value);
+
+        while (values[position] != 0 && values[position] != value)
+        {
+            position = ( position + 1 ) & positionsMask;
+        }
+
+        return position;
+    }
+
+    /**
+     * Dobra o tamanho da tabela hash e reinsere os valores.
+     */
+
+    private void grow()
+    {
+        int[] oldValues = values;
+        int capacity = oldValues.length * 2;
+
+        values = new int[capacity];
+        positionsMask = capacity - 1;
+
+        for (int i = 0; i < oldValues.length; i++)
+        {
+            if (oldValues[i] != 0)
+            {
+                values[ getPosition(oldValues[i]) ] = oldValues[i];
+            }
+        }
+    }
+
+    public boolean contains(int value)
+    {
+        return ( value == 0 ? containsZero : values[ getPosition(value) ] != 0 );
+    }
+
+    /**
+     * Adiciona o valor caso ele ainda nao esteja no conjunto.
+     *
+     * @param value valor a ser adicionado
+     *
+     * @return {@code true} se o valor foi adicionado, {@code false} se ele ja'
+     * estava no conjunto.
+     */
+
+    public boolean add(int value)
+    {
+        boolean added;
+
+        if (value == 0)
+        {
+            added = !containsZero;
+            containsZero = true;
+        }
+
+        else
+        {
+            int position = getPosition(value);
+            added = ( values[position] == 0 );
+
+            if (added)
+            {
+                values[position] = value;
+            }
+        }
+
+        if (added && ++size * 2 > values.length)
+        {
+            grow();
+        }
+
+        return added;
+    }
+
+    /**
+     * Adiciona cada valor do arranjo que ainda nao estiver no conjunto.
+     *
+     * @param array valores a serem adicionados
+     */
+
+    public void addAll(int[] array)
+    {
+        for (int i = 0; i < array.length; i++)
+        {
+            add(array[i]);
+        }
+    }
+
+    /**
+     * Copia os valores do conjunto para um arranjo, sem ordem definida.
+     *
+     * @return Arranjo com os {@code size()} valores do conjunto.
+     */
+
+    public int[] toArray()
+    {
+        int[] array = new int[size];
+        int counter = 0;
+
+        if (containsZero)
+        {
+            array[counter++] = 0;
+        }
+
+        for (int i = 0; i < values.length; i++)
+        {
+            if (values[i] != 0)
+            {
+                array[counter++] = values[i];
+            }
+        }
+
+        return array;
+    }
+}
@@ -9,8 +9,76 @@ import Util.IO;
 
 public class QuineMcCluskey
 {
+    public enum PrimeGenerator
+    {
+        // usa o metodo isPreferredFor de cada gerador para escolher um deles
+        AUTOMATIC,
+        // agrupa os mintermos por niveis com o metodo MintermTable.groupMinterms
+        GROUPING,
+        // programacao dinamica do TernaryPrimeGenerator
+        TERNARY,
+        // expansao de Shannon do ShannonPrimeGenerator
+        SHANNON,
+        // conjunto implicito em ZDD do PrimeImplicantSet, do qual so' os
+        // primos que podem entrar na cobertura minima sao enumerados
+        ZDD
+    }
+    
+    /**
+     * Procura, entre os argumentos da linha de comando, um no formato
+     * "nome=VALOR" e converte o valor para uma constante do enum da opcao.
+     * 
+     * <p>Ex: getOption({ "primos=shannon" }, "primos",
+     * PrimeGenerator.AUTOMATIC) = PrimeGenerator.SHANNON</p>
+     * 
+     * @param args argumentos da linha de comando
+     * @param name nome da opcao
+     * @param defaultValue valor usado caso a opcao nao apareca
+     * 
+     * @return Valor da opcao.
+     * 
+     * @throws IllegalArgumentException caso o valor nao seja uma constante do
+     * enum da opcao.
+     */
+    
+    static <E extends Enum<E>> E getOption(String[] args, String name, E defaultValue)
+    {
+        E value = defaultValue;
+        
+        for (String arg : args)
+        {
+            if (arg.startsWith(name + "="))
+            {
+                value = Enum.valueOf(defaultValue.getDeclaringClass(), arg.substring(name.length() + 1).toUpperCase());
+            }
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Le a tabela verdade e os nomes das variaveis e imprime os passos da
+     * simplificacao. Os argumentos opcionais da linha de comando escolhem os
+     * algoritmos usados:
+     * 
+     * <ul>
+     *  <li>minimizador=AUTOMATIC|EXACT|HEURISTIC: quando trocar o caminho
+     *  exato pelo minimizador heuristico (veja EspressoMinimizer.Mode);</li>
+     *  <li>primos=AUTOMATIC|GROUPING|TERNARY|SHANNON|ZDD: como gerar os primos
+     *  implicantes no caminho exato (veja PrimeGenerator);</li>
+     *  <li>cobertura=BRANCH_AND_BOUND|SAT: como resolver a cobertura minima
+     *  dos primos nao essenciais (veja CoverageMap.SolverMode).</li>
+     * </ul>
+     * 
+     * @param args opcoes no formato "nome=VALOR"
+     */
+    
     public static void main(String[] args)
     {
+        EspressoMinimizer.Mode minimizerMode = getOption(args, "minimizador", EspressoMinimizer.Mode.AUTOMATIC);
+        PrimeGenerator primeGenerator = getOption(args, "primos", PrimeGenerator.AUTOMATIC);
+        CoverageMap.SolverMode solverMode = getOption(args, "cobertura", CoverageMap.SolverMode.BRANCH_AND_BOUND);
+        
         //11001101000001011100110100110011 = SoP(0,1,4,5,7,13,15,16,17,20,21,23,26,27,30,31)
         //10011110001101011101011000111101 = SoP(0,3,4,5,6,10,11,13,15,16,17,19,21,22,26,27,28,29,31)
         //00010111001101000100000001100011011110110011111110111110101100111000011111110100010101111010000010110011101000110010001011101110
@@ -27,6 +95,11 @@ public class QuineMcCluskey
         // Extrai os mintermos e cria uma tabela para eles
         MintermTable mintermsTable = MintermTable.getMintermsTable(truthTable);
         int groupNumber = 1;
+
+        // BDD da funcao, construido uma vez so' e compartilhado pelos passos
+        // que consultam a funcao original
+        Bdd bdd = new Bdd( mintermsTable.getNumberOfVariablesOfTheCubes() );
+        int function = bdd.getNode(mintermsTable);
         
         KarnaughMap karnaughMap = new KarnaughMap(mintermsTable, namesOfVariables);
         
@@ -41,8 +114,71 @@ public class QuineMcCluskey
         IO.println("\nMintermos:");
         mintermsTable.printTable(); // Imprime a tabela
         
-        // Agrupa os mintermos com distancia hamming de 1
-        mintermsTable = MintermTable.groupMinterms(mintermsTable);
+        // Com muitas variaveis o caminho exato e' inviavel, entao a cobertura e'
+        // encontrada pelo minimizador heuristico
+        if (EspressoMinimizer.isPreferredFor(mintermsTable, minimizerMode))
+        {
+            MintermTable coverTable = EspressoMinimizer.getCover(mintermsTable);
+            
+            mintermsTable.release();
+            mintermsTable = coverTable;
+            
+            IO.println("\nCobertura heuristica (expand / irredundant / reduce):");
+            mintermsTable.printTable(); // Imprime a tabela
+        }
+        
+        // Funcoes densas com muitas variaveis tem os primos implicantes gerados
+        // diretamente, sem os niveis intermediarios do agrupamento
+        else if (primeGenerator == PrimeGenerator.TERNARY ||
+                primeGenerator == PrimeGenerator.AUTOMATIC && TernaryPrimeGenerator.isPreferredFor(mintermsTable))
+        {
+            MintermTable primesTable = TernaryPrimeGenerator.getPrimeImplicants(mintermsTable);
+            
+            mintermsTable.release();
+            mintermsTable = primesTable;
+            
+            IO.println("\nPrimos implicantes (programacao dinamica ternaria):");
+            mintermsTable.printTable(); // Imprime a tabela
+        }
+        
+        // Acima do limite da programacao dinamica, a tabela verdade e' dividida
+        // recursivamente pelas variaveis
+        else if (primeGenerator == PrimeGenerator.SHANNON ||
+                primeGenerator == PrimeGenerator.AUTOMATIC && ShannonPrimeGenerator.isPreferredFor(mintermsTable))
+        {
+            MintermTable primesTable = ShannonPrimeGenerator.getPrimeImplicants(mintermsTable);
+            
+            mintermsTable.release();
+            mintermsTable = primesTable;
+            
+            IO.println("\nPrimos implicantes (expansao de Shannon):");
+            mintermsTable.printTable(); // Imprime a tabela
+        }
+        
+        // Os primos ficam num ZDD e so' os que podem fazer parte da cobertura
+        // minima sao enumerados, entao funcoes com milhoes de primos cabem
+        else if (primeGenerator == PrimeGenerator.ZDD)
+        {
+            PrimeImplicantSet primeImplicantSet = PrimeImplicantSet.getPrimeImplicantSet(mintermsTable, bdd, function);
+            MintermTable primesTable = primeImplicantSet.getPrimesForTheCover();
+
+            // o BDD foi reordenado para gerar os primos
+            function = primeImplicantSet.getFunction();
+            
+            mintermsTable.release();
+            mintermsTable = primesTable;
+            
+            IO.println("\nPrimos implicantes (ZDD): " + primeImplicantSet.getNumberOfPrimes() +
+                    ", dos quais " + primeImplicantSet.getNumberOfEssentialPrimes() + " essenciais");
+            IO.println("\nPrimos que podem fazer parte da cobertura minima:");
+            mintermsTable.printTable(); // Imprime a tabela
+        }
+        
+        else
+        {
+            // Agrupa os mintermos com distancia hamming de 1
+            mintermsTable = MintermTable.groupMinterms(mintermsTable);
+        }
         
         if (mintermsTable != null)
         {
@@ -51,6 +187,7 @@ public class QuineMcCluskey
             {
                 IO.println("\n" + groupNumber++ + "º grupo:");
                 mintermsTable.printTable(); // Imprime a tabela
+                IO.println("Pico de memoria do grupo: " + mintermsTable.getPeakFootprint() + " bytes");
 
                 // Agrupa os mintermos com distancia hamming de 1
                 mintermsTable = MintermTable.groupMinterms(mintermsTable);
@@ -58,7 +195,10 @@ public class QuineMcCluskey
 
             // Finalizado o agrupamento, obtem o mapa de cobertura com todos os
             // mintermos usados nas simplificacoes
-            CoverageMap coverageMap = CoverageMap.getCoverageMap(mintermsTable);
+            CoverageMap coverageMap = CoverageMap.getCoverageMap(mintermsTable, solverMode);
+            
+            // o mapa de cobertura ja' copiou o que precisava dos niveis
+            mintermsTable.release();
 
             if (coverageMap != null)
             {
@@ -82,6 +222,13 @@ public class QuineMcCluskey
                 
                 IO.println("\nExpressao final:\n");
                 coverageMap.printExpression(namesOfVariables);
+
+                // Confere a expressao com a funcao lida: as duas tem o mesmo
+                // BDD somente se forem equivalentes
+                if (bdd.getNode( coverageMap.getCover() ) != function)
+                {
+                    IO.println("\nErro: a expressao final nao e' equivalente a' tabela verdade");
+                }
             }
         }
     }
@@ -0,0 +1,801 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Pacote de diagramas de decisao binarios reduzidos e ordenados (ROBDD).
+ * Cada funcao logica e' representada pelo indice do no raiz do seu BDD, e
+ * funcoes iguais tem sempre o mesmo indice, entao testar a equivalencia de
+ * duas funcoes e' comparar dois inteiros.
+ *
+ * <p>Os nos ficam numa tabela unica ({@code DecisionNodes}), em que cada no
+ * (variavel, filho 0, filho 1) existe uma vez so', e os resultados das
+ * operacoes ficam num cache de tamanho fixo ({@code OperationCache}), em que
+ * uma entrada nova sobrescreve a antiga. Um no com os dois filhos iguais
+ * nunca e' criado.</p>
+ *
+ * <p>As variaveis ficam em niveis: a variavel do nivel
+ * numberOfVariables - 1 fica na raiz e a do nivel 0 logo acima dos
+ * terminais. A ordem padrao coloca a variavel i no nivel i, entao a variavel
+ * mais significativa da tabela verdade fica na raiz e os filhos de cada no
+ * sao os cofatores da expansao de Shannon da classe {@code CofactorTask}. A
+ * ordem pode ser escolhida na construcao e melhorada depois pelo metodo
+ * sift, que troca niveis vizinhos sem mudar os indices dos nos.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class Bdd
+{
+    public static final int ZERO = 0;
+    public static final int ONE = 1;
+
+    // as mascaras de variaveis dos metodos getSupport e exists sao long
+    public static final int MAX_VARIABLES = 63;
+
+    static final int AND = 0;
+    static final int OR = 1;
+    static final int AND_NOT = 2;
+    static final int XOR = 3;
+    private static final int ITE = 4;
+    private static final int RESTRICT = 5;
+    private static final int EXISTS = 6;
+
+    private static final int DEFAULT_LOG2_OF_THE_CACHE_SIZE = 18;
+
+    DecisionNodes nodes = new DecisionNodes(1 << 10);
+    OperationCache cache;
+    int numberOfVariables;
+    // nivel de cada variavel e variavel de cada nivel
+    int[] levels;
+    int[] variablesByLevel;
+
+    /**
+     * Cria um BDD vazio com a ordem padrao: a variavel i no nivel i.
+     *
+     * @param numberOfVariables quantidade de variaveis das funcoes
+     */
+
+    public Bdd(int numberOfVariables)
+    {
+        this(getDefaultOrder(numberOfVariables), DEFAULT_LOG2_OF_THE_CACHE_SIZE);
+    }
+
+    /**
+     * Cria um BDD vazio com a ordem de variaveis recebida.
+     *
+     * @param variablesByLevel variavel de cada nivel, do nivel 0, logo acima
+     * dos terminais, ate' a raiz
+     * @param log2OfTheCacheSize log2 da quantidade de entradas do cache de
+     * operacoes
+     */
+
+    public Bdd(int[] variablesByLevel, int log2OfTheCacheSize)
+    {
+        if (variablesByLevel.length > MAX_VARIABLES)
+        {
+            throw new IllegalArgumentException(
+                    "O BDD tem " + variablesByLevel.length + " variaveis, o maximo e' " + MAX_VARIABLES);
+        }
+
+        this.numberOfVariables = variablesByLevel.length;
+        this.variablesByLevel = variablesByLevel.clone();
+        this.levels = new int[numberOfVariables];
+        this.cache = new OperationCache(log2OfTheCacheSize);
+
+        Arrays.fill(levels, -1);
+
+        for (int level = 0; level < numberOfVariables; level++)
+        {
+            int variable = variablesByLevel[level];
+
+            if (variable < 0 || variable >= numberOfVariables || levels[variable] != -1)
+            {
+                throw new IllegalArgumentException("A ordem de variaveis nao e' uma permutacao");
+            }
+
+            levels[variable] = level;
+        }
+    }
+
+    private static int[] getDefaultOrder(int numberOfVariables)
+    {
+        int[] variablesByLevel = new int[numberOfVariables];
+
+        for (int level = 0; level < numberOfVariables; level++)
+        {
+            variablesByLevel[level] = level;
+        }
+
+        return variablesByLevel;
+    }
+
+    public int getNumberOfVariables()
+    {
+        return numberOfVariables;
+    }
+
+    public int getVariable(int node)
+    {
+        return nodes.variables[node];
+    }
+
+    public int getLow(int node)
+    {
+        return nodes.lows[node];
+    }
+
+    public int getHigh(int node)
+    {
+        return nodes.highs[node];
+    }
+
+    /**
+     * @return Nivel da variavel do no ou -1 nos terminais.
+     */
+
+    public int getLevel(int node)
+    {
+        int variable = nodes.variables[node];
+
+        return ( variable == DecisionNodes.TERMINAL_VARIABLE ? -1 : levels[variable] );
+    }
+
+    public int getVariableAtLevel(int level)
+    {
+        return variablesByLevel[level];
+    }
+
+    /**
+     * Obtem a variavel de maior nivel entre as raizes, -1 se todas forem
+     * terminais.
+     */
+
+    private int getTopVariable(int node1, int node2)
+    {
+        return ( getLevel(node1) >= getLevel(node2) ? getVariable(node1) : getVariable(node2) );
+    }
+
+    int getNode(int variable, int low, int high)
+    {
+        return ( low == high ? low : nodes.getNode(variable, low, high) );
+    }
+
+    /**
+     * @return BDD da funcao que retorna o valor da variavel.
+     */
+
+    public int getVariableNode(int variable)
+    {
+        return getNode(variable, ZERO, ONE);
+    }
+
+    /**
+     * Obtem o cofator do no na variavel recebida, que deve estar no nivel do
+     * no ou acima dele.
+     */
+
+    int getCofactor(int node, int variable, int value)
+    {
+        return ( getVariable(node) != variable ? node : value == 0 ? getLow(node) : getHigh(node) );
+    }
+
+    /**
+     * Constroi o BDD da funcao representada pela tabela verdade, em que o
+     * caractere i e' '1' se o mintermo i faz a funcao retornar 1. Mintermos
+     * alem do tamanho da tabela retornam 0.
+     *
+     * @param truthTable tabela verdade com ate' 2 ^ numberOfVariables
+     * caracteres
+     *
+     * @return Raiz do BDD.
+     */
+
+    public int getNode(String truthTable)
+    {
+        return getNode( new TruthTable(truthTable) );
+    }
+
+    /**
+     * Constroi o BDD da funcao que retorna 1 exatamente nos mintermos cobertos
+     * por alguma linha da tabela.
+     *
+     * @param mintermsTable tabela com os mintermos da funcao
+     *
+     * @return Raiz do BDD.
+     */
+
+    public int getNode(MintermTable mintermsTable)
+    {
+        return getNode( new TruthTable(mintermsTable, mintermsTable.getNumberOfVariablesOfTheCubes()) );
+    }
+
+    /**
+     * Constroi o BDD da funcao que retorna 1 exatamente nos mintermos
+     * cobertos por algum cubo da cobertura. Os BDDs dos cubos sao juntados
+     * dois a dois, entao os resultados intermediarios crescem junto com as
+     * partes da cobertura que representam.
+     *
+     * @param cover cobertura com ate' numberOfVariables variaveis
+     *
+     * @return Raiz do BDD.
+     */
+
+    public int getNode(CubeCover cover)
+    {
+        if (cover.getNumberOfVariables() > numberOfVariables)
+        {
+            throw new IllegalArgumentException("A cobertura tem " + cover.getNumberOfVariables() +
+                    " variaveis, o BDD tem " + numberOfVariables);
+        }
+
+        return getNode(cover, 0, cover.getNumberOfCubes());
+    }
+
+    /**
+     * Constroi o BDD do OU dos cubos de indices {@code from} ate'
+     * {@code to - 1} da cobertura.
+     */
+
+    private int getNode(CubeCover cover, int from, int to)
+    {
+        int node;
+
+        if (to - from == 0) node = ZERO;
+        else if (to - from == 1) node = getCubeNode( cover.getCubeValue(from), cover.getCubeDashMask(from) );
+
+        else
+        {
+            int middle = ( from + to ) >>> 1;
+
+            node = or(getNode(cover, from, middle), getNode(cover, middle, to));
+        }
+
+        return node;
+    }
+
+    /**
+     * Constroi o BDD do cubo, que e' o E dos literais das variaveis fixadas
+     * por ele, do nivel 0 ate' a raiz.
+     */
+
+    private int getCubeNode(long cubeValue, long cubeDashMask)
+    {
+        int node = ONE;
+
+        for (int level = 0; level < numberOfVariables; level++)
+        {
+            int variable = variablesByLevel[level];
+
+            if (( cubeDashMask >>> variable & 1 ) == 0)
+            {
+                node = ( ( cubeValue >>> variable & 1 ) != 0 ? getNode(variable, ZERO, node) : getNode(variable, node, ZERO) );
+            }
+        }
+
+        return node;
+    }
+
+    int getNode(TruthTable truthTable)
+    {
+        if (truthTable.numberOfVariables > numberOfVariables)
+        {
+            throw new IllegalArgumentException("A tabela verdade tem " + truthTable.numberOfVariables +
+                    " variaveis, o BDD tem " + numberOfVariables);
+        }
+
+        return getNode(truthTable.bits, numberOfVariables - 1, 0);
+    }
+
+    /**
+     * Constroi o BDD da sub-funcao em que as variaveis acima do nivel
+     * recebido tem os valores dos bits de {@code minterm}.
+     */
+
+    private int getNode(long[] bits, int level, long minterm)
+    {
+        int node;
+
+        if (level < 0)
+        {
+            node = ( ( minterm >>> 6 ) < bits.length ? (int) ( bits[ (int) ( minterm >>> 6 ) ] >>> minterm ) & 1 : ZERO );
+        }
+
+        else
+        {
+            int variable = variablesByLevel[level];
+
+            node = getNode(variable,
+                    getNode(bits, level - 1, minterm),
+                    getNode(bits, level - 1, minterm | ( 1L << variable )));
+        }
+
+        return node;
+    }
+
+    public int and(int node1, int node2)
+    {
+        return apply(AND, node1, node2);
+    }
+
+    public int or(int node1, int node2)
+    {
+        return apply(OR, node1, node2);
+    }
+
+    public int andNot(int node1, int node2)
+    {
+        return apply(AND_NOT, node1, node2);
+    }
+
+    public int xor(int node1, int node2)
+    {
+        return apply(XOR, node1, node2);
+    }
+
+    public int not(int node)
+    {
+        return apply(XOR, node, ONE);
+    }
+
+    /**
+     * Aplica a operacao aos dois BDDs, recursivamente nos cofatores da
+     * variavel de maior nivel entre as raizes.
+     *
+     * @param operation AND, OR, AND_NOT ou XOR
+     *
+     * @return Raiz do BDD resultante.
+     */
+
+    int apply(int operation, int node1, int node2)
+    {
+        int result = getTerminalCase(operation, node1, node2);
+
+        if (result == -1)
+        {
+            // as operacoes menos AND_NOT sao comutativas: a ordem dos
+            // operandos nao muda o resultado
+            if (operation != AND_NOT && node1 > node2)
+            {
+                int node = node1;
+
+                node1 = node2;
+                node2 = node;
+            }
+
+            result = cache.get(operation, node1, node2);
+
+            if (result == -1)
+            {
+                int variable = getTopVariable(node1, node2);
+
+                result = getNode(variable,
+                        apply(operation, getCofactor(node1, variable, 0), getCofactor(node2, variable, 0)),
+                        apply(operation, getCofactor(node1, variable, 1), getCofactor(node2, variable, 1)));
+
+                cache.put(operation, node1, node2, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return Resultado da operacao caso ele nao dependa dos filhos dos nos,
+     * caso contrario, -1.
+     */
+
+    private static int getTerminalCase(int operation, int node1, int node2)
+    {
+        int result = -1;
+
+        if (operation == AND)
+        {
+            if (node1 == ZERO || node2 == ZERO) result = ZERO;
+            else if (node1 == ONE || node1 == node2) result = node2;
+            else if (node2 == ONE) result = node1;
+        }
+
+        else if (operation == OR)
+        {
+            if (node1 == ONE || node2 == ONE) result = ONE;
+            else if (node1 == ZERO || node1 == node2) result = node2;
+            else if (node2 == ZERO) result = node1;
+        }
+
+        else if (operation == AND_NOT)
+        {
+            if (node1 == ZERO || node2 == ONE || node1 == node2) result = ZERO;
+            else if (node2 == ZERO) result = node1;
+        }
+
+        else
+        {
+            if (node1 == node2) result = ZERO;
+            else if (node1 == ZERO) result = node2;
+            else if (node2 == ZERO) result = node1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Obtem o BDD de "se condition entao thenNode senao elseNode".
+     *
+     * @return Raiz do BDD resultante.
+     */
+
+    public int ite(int condition, int thenNode, int elseNode)
+    {
+        int result;
+
+        if (condition == ONE || thenNode == elseNode) result = thenNode;
+        else if (condition == ZERO) result = elseNode;
+        else if (thenNode == ONE && elseNode == ZERO) result = condition;
+
+        else
+        {
+            result = cache.get(ITE, condition, thenNode, elseNode);
+
+            if (result == -1)
+            {
+                int topNode = ( getLevel(condition) >= getLevel(thenNode) ? condition : thenNode );
+                int variable = getTopVariable(topNode, elseNode);
+
+                result = getNode(variable,
+                        ite(getCofactor(condition, variable, 0), getCofactor(thenNode, variable, 0),
+                                getCofactor(elseNode, variable, 0)),
+                        ite(getCofactor(condition, variable, 1), getCofactor(thenNode, variable, 1),
+                                getCofactor(elseNode, variable, 1)));
+
+                cache.put(ITE, condition, thenNode, elseNode, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Obtem o cofator da funcao com a variavel fixada no valor recebido.
+     *
+     * @param node raiz da funcao
+     * @param variable variavel a ser fixada
+     * @param value 0 ou 1
+     *
+     * @return Raiz do BDD do cofator.
+     */
+
+    public int restrict(int node, int variable, int value)
+    {
+        int result;
+
+        if (getLevel(node) < levels[variable]) result = node;
+        else if (getVariable(node) == variable) result = ( value == 0 ? getLow(node) : getHigh(node) );
+
+        else
+        {
+            result = cache.get(RESTRICT, node, variable, value);
+
+            if (result == -1)
+            {
+                result = getNode(getVariable(node),
+                        restrict(getLow(node), variable, value),
+                        restrict(getHigh(node), variable, value));
+
+                cache.put(RESTRICT, node, variable, value, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Quantifica existencialmente as variaveis: o resultado retorna 1 onde a
+     * funcao retorna 1 para algum valor delas.
+     *
+     * @param node raiz da funcao
+     * @param variablesMask mascara com o bit i ligado para cada variavel i a
+     * ser eliminada
+     *
+     * @return Raiz do BDD resultante, que nao depende das variaveis.
+     */
+
+    public int exists(int node, long variablesMask)
+    {
+        int result;
+
+        if (node == ZERO || node == ONE || variablesMask == 0) result = node;
+
+        else
+        {
+            result = cache.get(EXISTS, node, (int) ( variablesMask >>> 32 ), (int) variablesMask);
+
+            if (result == -1)
+            {
+                int variable = getVariable(node);
+                int low = exists(getLow(node), variablesMask);
+                int high = exists(getHigh(node), variablesMask);
+
+                result = ( ( variablesMask >>> variable & 1 ) != 0 ? or(low, high) : getNode(variable, low, high) );
+
+                cache.put(EXISTS, node, (int) ( variablesMask >>> 32 ), (int) variablesMask, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Obtem as variaveis de que a funcao depende.
+     *
+     * @return Mascara com o bit i ligado para cada variavel i do suporte.
+     */
+
+    public long getSupport(int node)
+    {
+        boolean[] visited = new boolean[nodes.numberOfNodes];
+
+        return getSupport(node, visited);
+    }
+
+    private long getSupport(int node, boolean[] visited)
+    {
+        long support = 0;
+
+        if (node != ZERO && node != ONE && !visited[node])
+        {
+            visited[node] = true;
+            support = ( 1L << getVariable(node) ) |
+                    getSupport(getLow(node), visited) | getSupport(getHigh(node), visited);
+        }
+
+        return support;
+    }
+
+    /**
+     * Conta os mintermos, entre os 2 ^ numberOfVariables, que fazem a funcao
+     * retornar 1.
+     *
+     * @return Quantidade de mintermos da funcao.
+     */
+
+    public long getNumberOfMinterms(int node)
+    {
+        long[] minterms = new long[nodes.numberOfNodes];
+
+        Arrays.fill(minterms, -1);
+
+        return getNumberOfMinterms(node, minterms) << ( numberOfVariables - 1 - getLevel(node) );
+    }
+
+    /**
+     * Conta os mintermos da funcao considerando apenas as variaveis do nivel
+     * do no para baixo.
+     */
+
+    private long getNumberOfMinterms(int node, long[] minterms)
+    {
+        if (node == ZERO || node == ONE) return node;
+
+        if (minterms[node] == -1)
+        {
+            int level = getLevel(node);
+
+            minterms[node] =
+                    ( getNumberOfMinterms(getLow(node), minterms) << ( level - 1 - getLevel(getLow(node)) ) ) +
+                    ( getNumberOfMinterms(getHigh(node), minterms) << ( level - 1 - getLevel(getHigh(node)) ) );
+        }
+
+        return minterms[node];
+    }
+
+    /**
+     * Conta os nos alcancaveis a partir das raizes, sem contar os terminais.
+     *
+     * @param roots raizes das funcoes
+     *
+     * @return Quantidade de nos compartilhados pelas funcoes.
+     */
+
+    public int getNumberOfNodes(int... roots)
+    {
+        boolean[] visited = new boolean[nodes.numberOfNodes];
+        int numberOfNodes = 0;
+
+        for (int root : roots)
+        {
+            numberOfNodes += getNumberOfNodes(root, visited);
+        }
+
+        return numberOfNodes;
+    }
+
+    private int getNumberOfNodes(int node, boolean[] visited)
+    {
+        int numberOfNodes = 0;
+
+        if (node != ZERO && node != ONE && !visited[node])
+        {
+            visited[node] = true;
+            numberOfNodes = 1 + getNumberOfNodes(getLow(node), visited) + getNumberOfNodes(getHigh(node), visited);
+        }
+
+        return numberOfNodes;
+    }
+
+    /**
+     * Reordena as variaveis pelo metodo de sifting de Rudell para diminuir a
+     * quantidade de nos das funcoes: cada variavel, comecando pelas que tem
+     * mais nos, passa por todos os niveis trocando de lugar com a vizinha e
+     * fica no nivel em que o total de nos foi menor.
+     *
+     * <p>As trocas mantem os indices e as funcoes dos nos, mas ao final de
+     * cada variavel os nos inalcancaveis sao descartados e os nos restantes
+     * recebem indices novos, entao apenas as raizes devolvidas continuam
+     * validas.</p>
+     *
+     * @param roots raizes das funcoes que devem ser mantidas
+     *
+     * @return Raizes das mesmas funcoes, na mesma ordem, apos a reordenacao.
+     */
+
+    public int[] sift(int... roots)
+    {
+        roots = collectGarbage(roots);
+
+        for (int variable : getVariablesByNumberOfNodes(roots))
+        {
+            int level = levels[variable];
+            int bestLevel = level;
+            int bestNumberOfNodes = getNumberOfNodes(roots);
+            int numberOfNodes;
+
+            // desce ate' o nivel 0, sobe ate' a raiz e volta ao melhor nivel
+            while (level > 0)
+            {
+                swapLevels(level--);
+                numberOfNodes = getNumberOfNodes(roots);
+
+                if (numberOfNodes < bestNumberOfNodes)
+                {
+                    bestNumberOfNodes = numberOfNodes;
+                    bestLevel = level;
+                }
+            }
+
+            while (level < numberOfVariables - 1)
+            {
+                swapLevels(++level);
+                numberOfNodes = getNumberOfNodes(roots);
+
+                if (numberOfNodes < bestNumberOfNodes)
+                {
+                    bestNumberOfNodes = numberOfNodes;
+                    bestLevel = level;
+                }
+            }
+
+            while (level > bestLevel)
+            {
+                swapLevels(level--);
+            }
+
+            roots = collectGarbage(roots);
+        }
+
+        return roots;
+    }
+
+    /**
+     * @return Variaveis em ordem decrescente da quantidade de nos
+     * alcancaveis que as testam.
+     */
+
+    private int[] getVariablesByNumberOfNodes(int[] roots)
+    {
+        long[] keys = new long[numberOfVariables];
+
+        // os nos alcancaveis sao todos os nos apos collectGarbage
+        for (int node = 2; node < nodes.numberOfNodes; node++)
+        {
+            keys[ getVariable(node) ] += 1L << 32;
+        }
+
+        for (int variable = 0; variable < numberOfVariables; variable++)
+        {
+            // o complemento da contagem ordena do maior para o menor
+            keys[variable] = ( ~keys[variable] & 0xFFFFFFFF00000000L ) | variable;
+        }
+
+        Arrays.sort(keys);
+
+        int[] variables = new int[numberOfVariables];
+
+        for (int i = 0; i < numberOfVariables; i++)
+        {
+            variables[i] = (int) keys[i];
+        }
+
+        return variables;
+    }
+
+    /**
+     * Troca as variaveis do nivel recebido e do nivel abaixo dele. Cada no
+     * da variavel de cima que depende da variavel de baixo e' reescrito no
+     * mesmo indice: F = x ? (y ? F11 : F10) : (y ? F01 : F00) passa a ser
+     * y ? (x ? F11 : F01) : (x ? F10 : F00).
+     *
+     * @param level nivel da variavel de cima, maior que 0
+     */
+
+    void swapLevels(int level)
+    {
+        int upperVariable = variablesByLevel[level];
+        int lowerVariable = variablesByLevel[level - 1];
+        int numberOfNodes = nodes.numberOfNodes;
+
+        for (int node = 2; node < numberOfNodes; node++)
+        {
+            if (nodes.variables[node] == upperVariable)
+            {
+                int low = getLow(node);
+                int high = getHigh(node);
+
+                if (getVariable(low) == lowerVariable || getVariable(high) == lowerVariable)
+                {
+                    nodes.replaceNode(node, lowerVariable,
+                            getNode(upperVariable, getCofactor(low, lowerVariable, 0), getCofactor(high, lowerVariable, 0)),
+                            getNode(upperVariable, getCofactor(low, lowerVariable, 1), getCofactor(high, lowerVariable, 1)));
+                }
+            }
+        }
+
+        variablesByLevel[level] = lowerVariable;
+        variablesByLevel[level - 1] = upperVariable;
+        levels[lowerVariable] = level;
+        levels[upperVariable] = level - 1;
+    }
+
+    /**
+     * Descarta os nos que nao sao alcancaveis a partir das raizes, copiando
+     * os restantes para uma tabela nova. O cache de operacoes e' esvaziado,
+     * porque os indices dos nos mudam.
+     *
+     * @param roots raizes das funcoes que devem ser mantidas
+     *
+     * @return Raizes das mesmas funcoes na tabela nova.
+     */
+
+    public int[] collectGarbage(int... roots)
+    {
+        DecisionNodes oldNodes = nodes;
+        int[] newIndexes = new int[oldNodes.numberOfNodes];
+        int[] newRoots = new int[roots.length];
+
+        Arrays.fill(newIndexes, -1);
+        newIndexes[ZERO] = ZERO;
+        newIndexes[ONE] = ONE;
+        nodes = new DecisionNodes( Math.max(1 << 10, getNumberOfNodes(roots) + 2) );
+
+        for (int i = 0; i < roots.length; i++)
+        {
+            newRoots[i] = copyNode(oldNodes, roots[i], newIndexes);
+        }
+
+        cache.clear();
+
+        return newRoots;
+    }
+
+    private int copyNode(DecisionNodes oldNodes, int node, int[] newIndexes)
+    {
+        if (newIndexes[node] == -1)
+        {
+            newIndexes[node] = nodes.getNode(oldNodes.variables[node],
+                    copyNode(oldNodes, oldNodes.lows[node], newIndexes),
+                    copyNode(oldNodes, oldNodes.highs[node], newIndexes));
+        }
+
+        return newIndexes[node];
+    }
+}
@@ -0,0 +1,198 @@
+package Structures;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calcula os primos implicantes de uma {@code TruthTable} pela expansao de
+ * Shannon na variavel mais significativa x. Sendo f0 e f1 os cofatores de f
+ * em x = 0 e x = 1 e P(g) os primos implicantes de g:
+ *
+ * <ul>
+ * <li>cada primo de f0 . f1 gera um primo de f com x eliminada;</li>
+ * <li>cada primo de f0 que nao e' primo de f0 . f1 gera um primo de f com
+ * x = 0, e o mesmo vale para f1 com x = 1.</li>
+ * </ul>
+ *
+ * <p>Um primo de f0 que tambem e' implicante de f1 e' implicante de f0 . f1 e
+ * e' primo nela, pois f0 . f1 esta' contida em f0. Por isso basta remover de
+ * P(f0) e de P(f1) os cubos de P(f0 . f1).</p>
+ *
+ * <p>Os resultados das tabelas com pelo menos
+ * {@code MIN_VARIABLES_TO_MEMOIZE} variaveis ficam num mapa compartilhado por
+ * todas as tarefas, entao uma sub-tabela repetida, comum em tabelas de logica
+ * de controle, e' resolvida uma vez so'. O mapa para de crescer quando as
+ * tabelas e os primos guardados nele passam do orcamento de memoria dado na
+ * criacao da primeira tarefa; dai' em diante as sub-tabelas novas sao apenas
+ * resolvidas, sem serem guardadas. A partir de
+ * {@code MIN_VARIABLES_TO_FORK} variaveis os tres sub-problemas sao resolvidos
+ * ao mesmo tempo no {@code ForkJoinPool}.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class CofactorTask extends RecursiveTask<long[]>
+{
+    private static final long serialVersionUID = 1L;
+
+    // tabelas menores sao tao rapidas de resolver quanto de procurar no mapa
+    static final int MIN_VARIABLES_TO_MEMOIZE = 4;
+    // tabelas menores sao resolvidas na propria tarefa
+    static final int MIN_VARIABLES_TO_FORK = 10;
+
+    // bytes estimados de cada entrada do mapa alem dos dois arranjos
+    private static final long ENTRY_OVERHEAD = 96;
+
+    private static final long[] NO_PRIMES = new long[0];
+
+    TruthTable truthTable;
+    // primos ja' calculados de cada tabela, compartilhado entre as tarefas
+    ConcurrentHashMap<TruthTable, long[]> primesOfTheTables;
+    // bytes que ainda podem ser guardados no mapa, compartilhado entre as tarefas
+    AtomicLong remainingMemoryBudget;
+
+    /**
+     * @param truthTable tabela cujos primos serao calculados
+     * @param memoryBudget quantidade maxima de bytes, aproximada, que o mapa
+     * de sub-tabelas ja' resolvidas pode ocupar
+     */
+
+    CofactorTask(TruthTable truthTable, long memoryBudget)
+    {
+        this(truthTable, new ConcurrentHashMap<TruthTable, long[]>(), new AtomicLong(memoryBudget));
+    }
+
+    private CofactorTask(TruthTable truthTable, ConcurrentHashMap<TruthTable, long[]> primesOfTheTables,
+            AtomicLong remainingMemoryBudget)
+    {
+        this.truthTable = truthTable;
+        this.primesOfTheTables = primesOfTheTables;
+        this.remainingMemoryBudget = remainingMemoryBudget;
+    }
+
+    /**
+     * @return Primos implicantes da tabela em ordem crescente, cada um com a
+     * mascara de variaveis eliminadas nos 32 bits mais significativos e o
+     * valor nos outros.
+     */
+
+    @Override
+    protected long[] compute()
+    {
+        int numberOfVariables = truthTable.numberOfVariables;
+        long[] primes;
+
+        if (truthTable.isZero()) primes = NO_PRIMES;
+
+        else if (truthTable.isOne())
+        {
+            primes = new long[] { ( ( 1L << numberOfVariables ) - 1 ) << 32 };
+        }
+
+        else
+        {
+            primes = ( numberOfVariables >= MIN_VARIABLES_TO_MEMOIZE ? primesOfTheTables.get(truthTable) : null );
+
+            if (primes == null)
+            {
+                primes = getPrimesFromTheCofactors();
+
+                if (numberOfVariables >= MIN_VARIABLES_TO_MEMOIZE && reserveMemoryFor(primes))
+                {
+                    primesOfTheTables.putIfAbsent(truthTable, primes);
+                }
+            }
+        }
+
+        return primes;
+    }
+
+    /**
+     * Desconta do orcamento o espaco que a tabela e os seus primos ocupariam
+     * no mapa. Depois que o orcamento acaba ele continua negativo, entao o
+     * mapa nao recebe mais nenhuma entrada.
+     *
+     * @return {@code true} se ainda havia espaco para a entrada.
+     */
+
+    private boolean reserveMemoryFor(long[] primes)
+    {
+        long bytes = ( (long) truthTable.bits.length + primes.length ) * Long.BYTES + ENTRY_OVERHEAD;
+
+        return remainingMemoryBudget.get() >= bytes && remainingMemoryBudget.addAndGet(-bytes) >= 0;
+    }
+
+    private long[] getPrimesFromTheCofactors()
+    {
+        TruthTable cofactor0 = truthTable.getCofactor(0);
+        TruthTable cofactor1 = truthTable.getCofactor(1);
+        CofactorTask task0 = new CofactorTask(cofactor0, primesOfTheTables, remainingMemoryBudget);
+        CofactorTask task1 = new CofactorTask(cofactor1, primesOfTheTables, remainingMemoryBudget);
+        CofactorTask task01 = new CofactorTask(cofactor0.and(cofactor1), primesOfTheTables,
+                remainingMemoryBudget);
+        long[] primes0;
+        long[] primes1;
+        long[] primes01;
+
+        if (truthTable.numberOfVariables >= MIN_VARIABLES_TO_FORK)
+        {
+            task0.fork();
+            task1.fork();
+            primes01 = task01.compute();
+            primes1 = task1.join();
+            primes0 = task0.join();
+        }
+
+        else
+        {
+            primes0 = task0.compute();
+            primes1 = task1.compute();
+            primes01 = task01.compute();
+        }
+
+        long variable = 1L << ( truthTable.numberOfVariables - 1 );
+        long[] primes = new long[primes0.length + primes1.length + primes01.length];
+        int primesCounter = 0;
+
+        for (int i = 0; i < primes01.length; i++)
+        {
+            primes[ primesCounter++ ] = primes01[i] | ( variable << 32 );
+        }
+
+        primesCounter = addPrimesNotIn(primes01, primes0, 0, primes, primesCounter);
+        primesCounter = addPrimesNotIn(primes01, primes1, variable, primes, primesCounter);
+
+        primes = Arrays.copyOf(primes, primesCounter);
+        Arrays.sort(primes);
+
+        return primes;
+    }
+
+    /**
+     * Adiciona a {@code primes} os primos de um cofator que nao sao primos do
+     * E dos dois cofatores, com os bits de {@code value} ligados.
+     *
+     * @return Nova quantidade de primos em {@code primes}.
+     */
+
+    private static int addPrimesNotIn(long[] primes01, long[] cofactorPrimes, long value,
+            long[] primes, int primesCounter)
+    {
+        // os dois arranjos estao em ordem crescente
+        int j = 0;
+
+        for (int i = 0; i < cofactorPrimes.length; i++)
+        {
+            while (j < primes01.length && primes01[j] < cofactorPrimes[i]) j++;
+
+            if (j == primes01.length || primes01[j] != cofactorPrimes[i])
+            {
+                primes[ primesCounter++ ] = cofactorPrimes[i] | value;
+            }
+        }
+
+        return primesCounter;
+    }
+}
@@ -1,6 +1,7 @@
 package Structures;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
 import Util.*;
 
 /**
@@ -9,55 +10,137 @@ import Util.*;
 
 public class CoverageMap
 {
+    public enum SolverMode
+    {
+        // busca com poda do MinimumCoverSolver
+        BRANCH_AND_BOUND,
+        // resolvedor SAT do SatCoverSolver
+        SAT
+    }
+
     int[] mintermsAsDecimal;
     char[][] mintermsAsBinary;
-    char[][] mintermsMap;
+    // mapa de cobertura por linhas: o bit j de linesBits[i] indica que o primo
+    // implicante da linha i cobre o mintermo da coluna j
+    long[][] linesBits;
+    // o mesmo mapa por colunas: o bit i de columnsBits[j] indica que o mintermo
+    // da coluna j e' coberto pelo primo implicante da linha i
+    long[][] columnsBits;
+    // colunas cujos mintermos ainda nao foram cobertos por nenhuma linha usada
+    long[] uncoveredColumns;
+    // quantas linhas usadas cobrem o mintermo de cada coluna
+    int[] columnCoverCounts;
+    // quantidade de colunas ligadas em uncoveredColumns
+    int numberOfUncoveredColumns;
+    // linhas cujos primos implicantes ja' foram usados pelo metodo proceed
+    long[] usedLines;
     boolean isPossibleToSimplify;
     int[] statistics;
     // guardara' os indices das linhas dos primos implicantes essencias
-    int[] linesOfEssentialImplicantPrimes;
-    int counterOfLinesOfEssentialImplicantPrimes;
+    IntArrayList linesOfEssentialImplicantPrimes;
     int cursorOfLinesOfEssentialImplicantPrimes;
     // guardara' os indices das linhas dos primos implicantes usados nas simplificacoes
-    int[] usedImplicantPrimes;
-    int counterOfUsedImplicantPrimes;
+    IntArrayList usedImplicantPrimes;
     // guardara' os indices das linhas dos primos implicantes nao essenciais
-    int[] nonEssentialImplicantPrimes;
-    int counterOfNonEssentialImplicantPrimes;
+    IntArrayList nonEssentialImplicantPrimes;
     // guardara' as linhas dos primos implicantes pertencentes ao menor conjunto
     // de primos implicantes que cobrem os mintermos ainda nao cobridos pelos essenciais
     int[] smallestSetOfNonEssentialImplicantPrimes;
     int counterOfTheSmallestSetOfNonEssentialImplicantPrimes;
     int cursorOfTheSmallestSetOfNonEssentialImplicantPrimes;
     boolean calledFindTheSmallestSetOfNonEssentialImplicantPrimes;
+    // tamanho do mapa restante antes e depois da reducao por dominancia,
+    // ou seja, o tamanho do nucleo ciclico que sobrou para a busca
+    int numberOfLinesBeforeTheReduction;
+    int numberOfColumnsBeforeTheReduction;
+    int numberOfLinesOfTheCyclicCore;
+    int numberOfColumnsOfTheCyclicCore;
+    // quantidade de blocos independentes em que o nucleo ciclico foi dividido
+    int numberOfBlocksOfTheCyclicCore;
+    // false se a busca de algum bloco parou no limite de nos, ou seja, se a
+    // cobertura escolhida pode nao ser a menor
+    boolean isTheCoverMinimum;
+    // como cada bloco do nucleo ciclico e' resolvido
+    SolverMode solverMode;
+
+    /**
+     * Cria um mapa de cobertura a partir das linhas do mapa em bits.
+     * 
+     * @param mintermsAsDecimal mintermos de cada coluna, em ordem crescente
+     * @param mintermsAsBinary primo implicante de cada linha em binario
+     * @param linesBits para cada linha, conjunto de bits com as colunas que o
+     * primo implicante da linha cobre
+     */
 
-    public CoverageMap(int[] mintermsAsDecimal, char[][] mintermsAsBinary, char[][] mintermsMap)
+    public CoverageMap(int[] mintermsAsDecimal, char[][] mintermsAsBinary, long[][] linesBits)
     {
+        this(mintermsAsDecimal, mintermsAsBinary, linesBits, SolverMode.BRANCH_AND_BOUND);
+    }
+
+    /**
+     * Cria um mapa de cobertura a partir das linhas do mapa em bits, escolhendo
+     * como cada bloco do nucleo ciclico e' resolvido na busca pela menor
+     * cobertura. O {@code SolverMode.BRANCH_AND_BOUND} foi mais rapido nos
+     * mapas de primos medidos; o {@code SolverMode.SAT} e' uma alternativa
+     * exata que nao depende do limite inferior da busca.
+     * 
+     * @param mintermsAsDecimal mintermos de cada coluna, em ordem crescente
+     * @param mintermsAsBinary primo implicante de cada linha em binario
+     * @param linesBits para cada linha, conjunto de bits com as colunas que o
+     * primo implicante da linha cobre
+     * @param solverMode resolvedor usado em cada bloco do nucleo ciclico
+     */
+
+    public CoverageMap(int[] mintermsAsDecimal, char[][] mintermsAsBinary, long[][] linesBits, SolverMode solverMode)
+    {
+        int numberOfLines = linesBits.length;
+        int numberOfColumns = mintermsAsDecimal.length;
+        
         this.mintermsAsDecimal = mintermsAsDecimal;
         this.mintermsAsBinary = mintermsAsBinary;
-        this.mintermsMap = mintermsMap;
+        this.linesBits = linesBits;
+        this.columnsBits = new long[numberOfColumns][];
+        
+        for (int j = 0; j < numberOfColumns; j++)
+        {
+            columnsBits[j] = Bits.create(numberOfLines);
+        }
+        
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            for (int j = Bits.nextSetBit(linesBits[i], 0); j != -1; j = Bits.nextSetBit(linesBits[i], j + 1))
+            {
+                Bits.set(columnsBits[j], i);
+            }
+        }
+        
+        this.uncoveredColumns = Bits.createFull(numberOfColumns);
+        this.columnCoverCounts = new int[numberOfColumns];
+        this.numberOfUncoveredColumns = numberOfColumns;
+        this.usedLines = Bits.create(numberOfLines);
         this.statistics = new int[mintermsAsBinary[0].length + 1];
-        this.linesOfEssentialImplicantPrimes = new int[mintermsAsBinary.length];
-        this.counterOfLinesOfEssentialImplicantPrimes = 0;
+        this.linesOfEssentialImplicantPrimes = new IntArrayList();
         this.cursorOfLinesOfEssentialImplicantPrimes = 0;
-        Arrays.fill(linesOfEssentialImplicantPrimes, -1);
-        this.usedImplicantPrimes = new int[mintermsAsBinary.length];
-        this.counterOfUsedImplicantPrimes = 0;
-        Arrays.fill(usedImplicantPrimes, -1);
-        this.nonEssentialImplicantPrimes = new int[mintermsAsBinary.length];
-        this.counterOfNonEssentialImplicantPrimes = 0;
-        Arrays.fill(nonEssentialImplicantPrimes, -1);
+        this.usedImplicantPrimes = new IntArrayList();
+        this.nonEssentialImplicantPrimes = new IntArrayList(mintermsAsBinary.length);
         this.smallestSetOfNonEssentialImplicantPrimes = new int[0];
         this.counterOfTheSmallestSetOfNonEssentialImplicantPrimes = 0;
         this.cursorOfTheSmallestSetOfNonEssentialImplicantPrimes = 0;
         this.isPossibleToSimplify = true;
         this.calledFindTheSmallestSetOfNonEssentialImplicantPrimes = false;
+        this.isTheCoverMinimum = true;
+        this.solverMode = solverMode;
     }
     
     public boolean isPossibleToSimplify()
     {
         return isPossibleToSimplify;
     }
+
+    public SolverMode getSolverMode()
+    {
+        return solverMode;
+    }
     
     /**
      * Recebe uma tabela de mintermos nao simplificavel e gera um mapa de
@@ -70,6 +153,21 @@ public class CoverageMap
      */
     
     public static CoverageMap getCoverageMap(MintermTable mintermTable)
+    {
+        return getCoverageMap(mintermTable, SolverMode.BRANCH_AND_BOUND);
+    }
+    
+    /**
+     * Versao do metodo getCoverageMap que permite escolher como cada bloco do
+     * nucleo ciclico e' resolvido na busca pela menor cobertura.
+     * 
+     * @param mintermTable tabela de mintermos nao simplificavel
+     * @param solverMode resolvedor usado em cada bloco do nucleo ciclico
+     * 
+     * @return Um mapa de cobertura com as simplificacoes finais da tabela.
+     */
+    
+    public static CoverageMap getCoverageMap(MintermTable mintermTable, SolverMode solverMode)
     {
         CoverageMap coverageMap = null;
         
@@ -79,37 +177,117 @@ public class CoverageMap
             
             if (numberOfLines > 0)
             {
+                MintermIndex mintermIndex = mintermTable.getMintermIndex();
                 int[] mintermsAsDecimal = MintermTable.getAllMintermsInCrescentOrder(mintermTable);
-                char[][] mintermsMap = new char[numberOfLines][mintermsAsDecimal.length];
-                int[] mintermsOfCurrentLine;
+                long[][] linesBits = new long[numberOfLines][];
+                int minterm;
                 
                 for (int i = 0; i < numberOfLines; i++)
                 {
-                    Arrays.fill(mintermsMap[i], ' ');
-                    
-                    mintermsOfCurrentLine = mintermTable.table[i].mintermsAsDecimal;
+                    linesBits[i] = Bits.create(mintermsAsDecimal.length);
+                }
+                
+                // cada coluna marca as linhas que o indice invertido associa
+                // ao seu mintermo, sem procurar a coluna de cada mintermo
+                for (int j = 0; j < mintermsAsDecimal.length; j++)
+                {
+                    minterm = mintermsAsDecimal[j];
                     
-                    for (int minterm : mintermsOfCurrentLine)
+                    for (int e = mintermIndex.firstEntry[minterm]; e < mintermIndex.firstEntry[minterm + 1]; e++)
                     {
-                        mintermsMap[i][Arrays.binarySearch(mintermsAsDecimal, minterm)] = 'x';
+                        Bits.set(linesBits[ mintermIndex.entryLines[e] ], j);
                     }
                 }
                 
-                coverageMap = new CoverageMap(mintermsAsDecimal, mintermTable.getAllMintermsAsBinary(), mintermsMap);
+                coverageMap = new CoverageMap(mintermsAsDecimal, mintermTable.getAllMintermsAsBinary(), linesBits, solverMode);
             }
         }
         
         return coverageMap;
     }
     
+    /**
+     * Gera o mapa de cobertura a partir de um conjunto implicito de primos
+     * implicantes. Apenas os primos que podem fazer parte da cobertura minima
+     * sao enumerados (veja o metodo PrimeImplicantSet.getPrimesForTheCover).
+     *
+     * @param primeImplicantSet primos implicantes da funcao logica
+     *
+     * @return Um mapa de cobertura com os primos necessarios para a cobertura.
+     */
+
+    public static CoverageMap getCoverageMap(PrimeImplicantSet primeImplicantSet)
+    {
+        return getCoverageMap(primeImplicantSet, SolverMode.BRANCH_AND_BOUND);
+    }
+
+    /**
+     * Versao do metodo getCoverageMap para um conjunto implicito de primos
+     * implicantes que permite escolher como cada bloco do nucleo ciclico e'
+     * resolvido na busca pela menor cobertura.
+     *
+     * @param primeImplicantSet primos implicantes da funcao logica
+     * @param solverMode resolvedor usado em cada bloco do nucleo ciclico
+     *
+     * @return Um mapa de cobertura com os primos necessarios para a cobertura.
+     */
+
+    public static CoverageMap getCoverageMap(PrimeImplicantSet primeImplicantSet, SolverMode solverMode)
+    {
+        return getCoverageMap(primeImplicantSet.getPrimesForTheCover(), solverMode);
+    }
+
+    /**
+     * @return {@code false} se a busca pelos primos implicantes nao
+     * essenciais parou no limite de nos do {@code MinimumCoverSolver} em
+     * algum bloco do nucleo ciclico, ou seja, se a expressao final pode nao
+     * ser a menor. Caso contrario, {@code true}.
+     */
+
+    public boolean isTheCoverMinimum()
+    {
+        return isTheCoverMinimum;
+    }
+
     public int getNumberOfLines()
     {
-        return ( mintermsMap != null ? mintermsMap.length : 0 );
+        return ( linesBits != null ? linesBits.length : 0 );
     }
     
     public int getNumberOfColumns()
     {
-        return ( mintermsMap != null && mintermsMap[0] != null ? mintermsMap[0].length : 0 );
+        return ( mintermsAsDecimal != null ? mintermsAsDecimal.length : 0 );
+    }
+    
+    /**
+     * Gera o caractere que representa uma posicao do mapa de cobertura:
+     * 
+     * <ul>
+     *  <li>'-' se o primo implicante da linha ja' foi usado;</li>
+     *  <li>'|' se o mintermo da coluna ja' foi coberto por outra linha;</li>
+     *  <li>'x' se o primo implicante da linha cobre o mintermo da coluna;</li>
+     *  <li>' ' caso contrario.</li>
+     * </ul>
+     * 
+     * @param line indice da linha
+     * @param column indice da coluna
+     * 
+     * @return Caractere que representa a posicao do mapa de cobertura.
+     */
+    
+    private char getMapCharacter(int line, int column)
+    {
+        char c;
+        
+        if (Bits.get(usedLines, line)) c = '-';
+        
+        else if (!Bits.get(uncoveredColumns, column)) c = '|';
+        
+        else if (Bits.get(linesBits[line], column)) c = 'x';
+        
+        else c = ' ';
+        
+        return c;
     }
     
     /**
@@ -120,220 +298,300 @@ public class CoverageMap
 
     public void findEssentialImplicantPrimes()
     {
-        int numberOfImplicantPrimes;
         int lineOfImplicantPrime;
-        int numberOfLines = mintermsMap.length;
-        int numberOfColumns = mintermsMap[0].length;
+        int numberOfLines = getNumberOfLines();
+        int numberOfColumns = getNumberOfColumns();
+        long[] essentialLines = Bits.create(numberOfLines);
 
         for (int j = 0; j < numberOfColumns; j++)
         {
-            numberOfImplicantPrimes = 0;
-            lineOfImplicantPrime = -1;
-
-            for (int i = 0; i < numberOfLines; i++)
+            // um mintermo coberto por um unico primo implicante torna-o essencial
+            if (Bits.cardinality(columnsBits[j]) == 1)
             {
-                if (mintermsMap[i][j] == 'x')
+                lineOfImplicantPrime = Bits.nextSetBit(columnsBits[j], 0);
+
+                if (!Bits.get(essentialLines, lineOfImplicantPrime))
                 {
-                    numberOfImplicantPrimes++;
-                    lineOfImplicantPrime = i;
+                    Bits.set(essentialLines, lineOfImplicantPrime);
+                    linesOfEssentialImplicantPrimes.add(lineOfImplicantPrime);
                 }
             }
-
-            if (numberOfImplicantPrimes == 1 && Array.indexOf(lineOfImplicantPrime, linesOfEssentialImplicantPrimes) == -1)
-            {
-                linesOfEssentialImplicantPrimes[counterOfLinesOfEssentialImplicantPrimes++] = lineOfImplicantPrime;
-            }
         }
 
         for (int i = 0; i < numberOfLines; i++)
         {
-            if (Array.indexOf(i, linesOfEssentialImplicantPrimes) == -1)
+            if (!Bits.get(essentialLines, i))
             {
-                nonEssentialImplicantPrimes[counterOfNonEssentialImplicantPrimes++] = i;
+                nonEssentialImplicantPrimes.add(i);
             }
         }
     }
 
     /**
      * Este metodo deve ser chamado apos o metodo proceed ter usado todos
-     * os primos implicantes essenciais.
-     * <p>Ele e' responsavel por percorrer o mapa de cobertura descobrindo
-     * quais sao os primos implicantes nao essenciais restantes que cobrem
-     * os mintermos restantes.</p>
-     * <p>Dessa forma, gera uma {@code MintermTable} em que cada linha da
-     * tabela guarda um arranjo de inteiros sendo cada inteiro o indice da
-     * linha de um dos primos implicantes nao essenciais que cobrem um
-     * mintermo restante.</p>
-     * 
-     * <p>Supondo que a tabela gerada tenha a seguinte configuracao:</p>
-     * <table>
-     *  <tr>
-     *      <td>{3, 4, 5}</td> <td>{}</td>
-     *  </tr>
-     * 
-     *  <tr>
-     *      <td>{0, 1}   </td> <td>{}</td>
-     *  </tr>
-     * </table>
+     * os primos implicantes essenciais. Ele e' responsavel por encontrar
+     * o menor grupo de primos implicantes nao essenciais que consegue
+     * cobrir todos os mintermos restantes e, entao, adicionar as linhas
+     * desses primos implicantes num arranjo da classe.
      * 
-     * <p>Significa que o primeiro mintermo que ainda nao foi cobrido, podera'
-     * ser cobrido pela escolha dos primos implicantes das linhas 3, 4 ou 5.</p>
-     * <p>Da mesma forma, o segundo mintermo ainda nao coberto pelos primos
-     * implicantes essenciais podera' ser cobrido pela escolha dos primos
-     * implicantes das linhas 0 ou 1.</p>
+     * <p>Antes da busca, o mapa restante e' reduzido ao seu nucleo ciclico
+     * pelo metodo reduceToCyclicCore. O nucleo e' dividido em blocos que nao
+     * compartilham mintermos e cada bloco e' resolvido por um
+     * {@code MinimumCoverSolver}, que poda os ramos que nao podem melhorar a
+     * menor cobertura ja' encontrada, ou por um {@code SatCoverSolver} no
+     * modo {@code SolverMode.SAT}. Os blocos sao resolvidos ao mesmo tempo
+     * no {@code ForkJoinPool} comum e as coberturas deles sao concatenadas na
+     * ordem dos blocos.</p>
      * 
-     * @return {@code MintermTable} em que em cada linha se encontra um arranjo
-     * de inteiros contendo as linhas de primos implicantes que podem ser
-     * escolhidos para cobrir um dos mintermos ainda nao cobridos.
+     * <p>Se a busca de algum bloco parar no limite de nos, a cobertura dele e'
+     * a melhor encontrada ate' ali e o metodo isTheCoverMinimum passa a
+     * retornar {@code false}.</p>
      */
 
-    private MintermTable getTableOfLinesOfPrimeImplicantsForEachMinterm()
+    private void findTheSmallestSetOfNonEssentialImplicantPrimes()
     {
-        int numberOfColumns = getNumberOfColumns();
-        MintermTable tableOfLinesOfPrimeImplicantsForEachMinterm = new MintermTable(numberOfColumns);
-        int[] linesOfPrimeImplicantsForCurrentMinterm = new int[mintermsMap.length];
-        int linesOfPrimeImplicantsForCurrentMintermCounter;
-        int[] definitiveLinesOfPrimeImplicantsForCurrentMinterm;
-        char c;
+        calledFindTheSmallestSetOfNonEssentialImplicantPrimes = true;
 
-        // Percorre as colunas. Cada coluna representa um mintermo.
-        for (int j = 0; j < numberOfColumns; j++)
+        if (!nonEssentialImplicantPrimes.isEmpty() && findUncatchedMinterms())
         {
-            linesOfPrimeImplicantsForCurrentMintermCounter = 0;
+            long[] activeLines = Bits.create( getNumberOfLines() );
+            long[] activeColumns = uncoveredColumns.clone();
+            int line;
 
-            // Percorre as linhas. Juntamente com o for acima, forma um movimento vertical
-            for (int i = 0; i < mintermsMap.length && ( c = mintermsMap[i][j] ) != '|'; i++)
+            for (int i = 0; i < nonEssentialImplicantPrimes.size(); i++)
             {
-                if (c == 'x') // Checa se existe um x na coluna do mintermo
+                line = nonEssentialImplicantPrimes.get(i);
+
+                if (!Bits.get(usedLines, line))
                 {
-                    linesOfPrimeImplicantsForCurrentMinterm[linesOfPrimeImplicantsForCurrentMintermCounter++] = i;
+                    Bits.set(activeLines, line);
                 }
             }
 
-            if (linesOfPrimeImplicantsForCurrentMintermCounter > 0)
+            numberOfLinesBeforeTheReduction = Bits.cardinality(activeLines);
+            numberOfColumnsBeforeTheReduction = Bits.cardinality(activeColumns);
+
+            int[] secondaryEssentials = new int[numberOfLinesBeforeTheReduction];
+            int counterOfSecondaryEssentials = reduceToCyclicCore(activeLines, activeColumns, secondaryEssentials);
+
+            numberOfLinesOfTheCyclicCore = Bits.cardinality(activeLines);
+            numberOfColumnsOfTheCyclicCore = Bits.cardinality(activeColumns);
+
+            MinimumCoverSolver[] solversOfTheBlocks = getSolversOfIndependentBlocks(activeLines, activeColumns);
+            numberOfBlocksOfTheCyclicCore = solversOfTheBlocks.length;
+
+            if (solversOfTheBlocks.length > 1)
+            {
+                ForkJoinTask.invokeAll(solversOfTheBlocks);
+            }
+
+            else
             {
-                // Cria o arranjo definitivo que terá os índices das linhas dos
-                // primos implicantes essenciais para o mintermo na coluna atual
-                definitiveLinesOfPrimeImplicantsForCurrentMinterm = new int[linesOfPrimeImplicantsForCurrentMintermCounter];
-                System.arraycopy(linesOfPrimeImplicantsForCurrentMinterm, 0, definitiveLinesOfPrimeImplicantsForCurrentMinterm, 0, linesOfPrimeImplicantsForCurrentMintermCounter);
+                for (MinimumCoverSolver solver : solversOfTheBlocks) solver.invoke();
+            }
+
+            int sizeOfTheCoverOfTheCore = 0;
 
-                tableOfLinesOfPrimeImplicantsForEachMinterm.addLine(definitiveLinesOfPrimeImplicantsForCurrentMinterm, new char[0]);
+            for (MinimumCoverSolver solver : solversOfTheBlocks)
+            {
+                sizeOfTheCoverOfTheCore += solver.join().length;
+                isTheCoverMinimum = isTheCoverMinimum && solver.isMinimum();
             }
-        }
 
-        return tableOfLinesOfPrimeImplicantsForEachMinterm;
+            int[] coverOfTheCore = new int[sizeOfTheCoverOfTheCore];
+            int coverOfTheCoreCounter = 0;
+
+            for (MinimumCoverSolver solver : solversOfTheBlocks)
+            {
+                int[] coverOfTheBlock = solver.join();
+
+                System.arraycopy(coverOfTheBlock, 0, coverOfTheCore, coverOfTheCoreCounter, coverOfTheBlock.length);
+                coverOfTheCoreCounter += coverOfTheBlock.length;
+            }
+
+            smallestSetOfNonEssentialImplicantPrimes = new int[counterOfSecondaryEssentials + coverOfTheCore.length];
+            counterOfTheSmallestSetOfNonEssentialImplicantPrimes = smallestSetOfNonEssentialImplicantPrimes.length;
+            System.arraycopy(secondaryEssentials, 0, smallestSetOfNonEssentialImplicantPrimes, 0, counterOfSecondaryEssentials);
+            System.arraycopy(coverOfTheCore, 0, smallestSetOfNonEssentialImplicantPrimes, counterOfSecondaryEssentials, coverOfTheCore.length);
+        }
     }
 
     /**
-     * Tendo o resultado do metodo getTableOfLinesOfPrimeImplicantsForEachMinterm,
-     * analisa e descobre qual e' a menor quantidade de primos implicantes nao
-     * essenciais que podem ser escolhidos para que todos os mintermos restantes
-     * sejam cobertos.
+     * Divide o mapa formado pelas linhas e colunas ativas em blocos
+     * independentes, ou seja, componentes conexos em que nenhuma linha de um
+     * bloco cobre uma coluna de outro. A menor cobertura do mapa e' a uniao das
+     * menores coberturas dos blocos, entao cada bloco pode ser resolvido
+     * sozinho e o espaco de busca passa a ser a soma, e nao o produto, dos
+     * espacos de busca dos blocos.
      * 
-     * @param currentLine indice da linha atual na tabela
-     * @param tableOfLinesOfPrimeImplicantsForEachMinterm tabela de linhas
-     * de primos implicantes que cobrem cada mintermo
-     * @param linesOfPrimeImplicantsToIgnore arranjo com as primeiras posicoes
-     * preenchidas por linhas de primos implicantes que ja' foram usados e que,
-     * portanto, grupos com estes devem ser ignorados. Depois dessas linhas e'
-     * necessario que o resto do arranjo esteja preenchido com -1.
-     * @param counterOfLinesOfPrimeImplicantsToIgnore contador de linhas de
-     * primos implicantes que ja' foram usados
-     * @param smallestSetOfPrimeImplicants menor conjunto, ate' o momento, de
-     * primos implicantes que cobrem todos os mintermos
+     * @param activeLines linhas que podem ser escolhidas
+     * @param activeColumns colunas que precisam ser cobertas
      * 
-     * @return Arranjo com os indices das linhas dos primos implicantes que
-     * participam do menor grupo de primos implicantes possivel que consegue
-     * cobrir todos os mintermos restantes.
+     * @return Um {@code MinimumCoverSolver} para cada bloco, na ordem da
+     * primeira coluna de cada bloco.
      */
 
-    private int[] getSmallestSetOfLinesOfPrimeImplicantsThatCoverAllMinterms(int currentLine, MintermTable tableOfLinesOfPrimeImplicantsForEachMinterm, int[] linesOfPrimeImplicantsToIgnore, int counterOfLinesOfPrimeImplicantsToIgnore, int[] smallestSetOfPrimeImplicants)
+    private MinimumCoverSolver[] getSolversOfIndependentBlocks(long[] activeLines, long[] activeColumns)
     {
-        if (currentLine < tableOfLinesOfPrimeImplicantsForEachMinterm.numberOfLines)
+        int numberOfColumns = getNumberOfColumns();
+        long[] remainingColumns = activeColumns.clone();
+        long[] remainingLines = activeLines.clone();
+        MinimumCoverSolver[] solvers = new MinimumCoverSolver[ Bits.cardinality(activeColumns) ];
+        int solversCounter = 0;
+        int[] columnsToVisit = new int[numberOfColumns];
+        int firstColumn;
+
+        while (( firstColumn = Bits.nextSetBit(remainingColumns, 0) ) != -1)
         {
-            // obtem todas as linhas de primos implicantes que estao com um 'x' no mintermo atual
-            int[] linesOfPrimeImplicantsForCurrentMinterm = tableOfLinesOfPrimeImplicantsForEachMinterm.table[currentLine].mintermsAsDecimal;
+            long[] columnsOfTheBlock = Bits.create(numberOfColumns);
+            int[] linesOfTheBlock = new int[ Bits.cardinality(remainingLines) ];
+            int linesOfTheBlockCounter = 0;
+            int columnsToVisitCounter = 0;
 
-            // checa se nenhuma das linhas de primos implicantes esta' contida no conjunto das linhas a serem ignoradas
-            if (Array.indexOf(linesOfPrimeImplicantsToIgnore, linesOfPrimeImplicantsForCurrentMinterm)[0] == -1)
+            columnsToVisit[ columnsToVisitCounter++ ] = firstColumn;
+            Bits.clear(remainingColumns, firstColumn);
+            Bits.set(columnsOfTheBlock, firstColumn);
+
+            // percorre o bloco passando de coluna para linha e de linha para coluna
+            while (columnsToVisitCounter > 0)
             {
-                for (int i = 0; i < linesOfPrimeImplicantsForCurrentMinterm.length; i++)
+                long[] linesOfTheColumn = columnsBits[ columnsToVisit[ --columnsToVisitCounter ] ];
+
+                for (int i = Bits.nextSetBit(linesOfTheColumn, 0); i != -1; i = Bits.nextSetBit(linesOfTheColumn, i + 1))
                 {
-                    int[] newLinesOfPrimeImplicantsToIgnore = linesOfPrimeImplicantsToIgnore.clone();
-                    newLinesOfPrimeImplicantsToIgnore[counterOfLinesOfPrimeImplicantsToIgnore] = linesOfPrimeImplicantsForCurrentMinterm[i];
+                    if (Bits.get(remainingLines, i))
+                    {
+                        Bits.clear(remainingLines, i);
+                        linesOfTheBlock[ linesOfTheBlockCounter++ ] = i;
 
-                    smallestSetOfPrimeImplicants = getSmallestSetOfLinesOfPrimeImplicantsThatCoverAllMinterms(currentLine + 1, tableOfLinesOfPrimeImplicantsForEachMinterm, newLinesOfPrimeImplicantsToIgnore, counterOfLinesOfPrimeImplicantsToIgnore + 1, smallestSetOfPrimeImplicants);
+                        for (int j = Bits.nextSetBit(linesBits[i], 0); j != -1; j = Bits.nextSetBit(linesBits[i], j + 1))
+                        {
+                            if (Bits.get(remainingColumns, j))
+                            {
+                                Bits.clear(remainingColumns, j);
+                                Bits.set(columnsOfTheBlock, j);
+                                columnsToVisit[ columnsToVisitCounter++ ] = j;
+                            }
+                        }
+                    }
                 }
             }
 
-            else
-            {
-                smallestSetOfPrimeImplicants = getSmallestSetOfLinesOfPrimeImplicantsThatCoverAllMinterms(currentLine + 1, tableOfLinesOfPrimeImplicantsForEachMinterm, linesOfPrimeImplicantsToIgnore, counterOfLinesOfPrimeImplicantsToIgnore, smallestSetOfPrimeImplicants);
-            }
+            linesOfTheBlock = Arrays.copyOf(linesOfTheBlock, linesOfTheBlockCounter);
+            Arrays.sort(linesOfTheBlock);
+
+            solvers[ solversCounter++ ] = ( solverMode == SolverMode.SAT ?
+                    new SatCoverSolver(linesBits, linesOfTheBlock, columnsOfTheBlock) :
+                    new MinimumCoverSolver(linesBits, linesOfTheBlock, columnsOfTheBlock) );
         }
 
-        else
+        return Arrays.copyOf(solvers, solversCounter);
+    }
+
+    /**
+     * Reduz o mapa restante ao seu nucleo ciclico repetindo os passos abaixo
+     * ate' que nenhum deles mude o mapa:
+     * 
+     * <ul>
+     *  <li>essenciais secundarios: uma coluna com uma unica linha obriga a
+     *  escolha dessa linha, que cobre as suas colunas e sai do mapa;</li>
+     *  <li>colunas dominantes: se todas as linhas que cobrem a coluna a tambem
+     *  cobrem a coluna b, cobrir a garante cobrir b, entao b sai do mapa;</li>
+     *  <li>linhas dominadas: se todas as colunas da linha r tambem estao na
+     *  linha s, s pode substituir r em qualquer cobertura, entao r sai do
+     *  mapa.</li>
+     * </ul>
+     * 
+     * <p>Quando duas linhas ou duas colunas sao iguais, sai a de maior indice.</p>
+     * 
+     * @param activeLines linhas que podem ser escolhidas. Ao final, sobram
+     * apenas as linhas do nucleo
+     * @param activeColumns colunas que precisam ser cobertas. Ao final, sobram
+     * apenas as colunas do nucleo
+     * @param secondaryEssentials arranjo onde serao guardadas as linhas
+     * escolhidas durante a reducao
+     * 
+     * @return Quantas linhas foram guardadas em {@code secondaryEssentials}.
+     */
+
+    private int reduceToCyclicCore(long[] activeLines, long[] activeColumns, int[] secondaryEssentials)
+    {
+        long[][] linesOfEachColumn = new long[ getNumberOfColumns() ][];
+        long[][] columnsOfEachLine = new long[ getNumberOfLines() ][];
+        int counterOfSecondaryEssentials = 0;
+        boolean changed = true;
+
+        while (changed)
         {
-            Arrays.fill(linesOfPrimeImplicantsToIgnore, counterOfLinesOfPrimeImplicantsToIgnore, linesOfPrimeImplicantsToIgnore.length, linesOfPrimeImplicantsToIgnore[0]);
+            changed = false;
 
-            if (tableOfLinesOfPrimeImplicantsForEachMinterm.eachLineHasOneOrMoreElementsOfTheArray(linesOfPrimeImplicantsToIgnore))
+            // essenciais secundarios
+            for (int j = Bits.nextSetBit(activeColumns, 0); j != -1; j = Bits.nextSetBit(activeColumns, j + 1))
             {
-                Arrays.fill(linesOfPrimeImplicantsToIgnore, counterOfLinesOfPrimeImplicantsToIgnore, linesOfPrimeImplicantsToIgnore.length, -1);
+                if (Bits.cardinalityOfAnd(columnsBits[j], activeLines) == 1)
+                {
+                    int line = Bits.nextSetBit(columnsBits[j], 0);
 
-                int sizeOfSmallestSetOfPrimeImplicants = Array.indexOf(-1, smallestSetOfPrimeImplicants);
-                sizeOfSmallestSetOfPrimeImplicants = ( sizeOfSmallestSetOfPrimeImplicants == -1 ? smallestSetOfPrimeImplicants.length : sizeOfSmallestSetOfPrimeImplicants );
+                    while (!Bits.get(activeLines, line))
+                    {
+                        line = Bits.nextSetBit(columnsBits[j], line + 1);
+                    }
 
-                if (counterOfLinesOfPrimeImplicantsToIgnore < sizeOfSmallestSetOfPrimeImplicants)
-                {
-                    smallestSetOfPrimeImplicants = linesOfPrimeImplicantsToIgnore;
+                    secondaryEssentials[ counterOfSecondaryEssentials++ ] = line;
+                    Bits.clear(activeLines, line);
+                    Bits.andNot(activeColumns, linesBits[line]);
+                    changed = true;
                 }
             }
 
-            else
+            // colunas dominantes
+            for (int j = Bits.nextSetBit(activeColumns, 0); j != -1; j = Bits.nextSetBit(activeColumns, j + 1))
             {
-                Arrays.fill(linesOfPrimeImplicantsToIgnore, counterOfLinesOfPrimeImplicantsToIgnore, linesOfPrimeImplicantsToIgnore.length, -1);
+                linesOfEachColumn[j] = columnsBits[j].clone();
+                Bits.and(linesOfEachColumn[j], activeLines);
             }
-        }
-
-        return smallestSetOfPrimeImplicants;
-    }
 
-    /**
-     * Este metodo deve ser chamado apos o metodo proceed ter usado todos
-     * os primos implicantes essenciais. Ele e' responsavel por encontrar
-     * o menor grupo de primos implicantes nao essenciais que consegue
-     * cobrir todos os mintermos restantes e, entao, adicionar as linhas
-     * desses primos implicantes num arranjo da classe.
-     */
-
-    private void findTheSmallestSetOfNonEssentialImplicantPrimes()
-    {
-        calledFindTheSmallestSetOfNonEssentialImplicantPrimes = true;
+            for (int a = Bits.nextSetBit(activeColumns, 0); a != -1; a = Bits.nextSetBit(activeColumns, a + 1))
+            {
+                for (int b = Bits.nextSetBit(activeColumns, 0); b != -1; b = Bits.nextSetBit(activeColumns, b + 1))
+                {
+                    if (a != b && Bits.isSubsetOf(linesOfEachColumn[a], linesOfEachColumn[b]) &&
+                            ( a < b || !Bits.isSubsetOf(linesOfEachColumn[b], linesOfEachColumn[a]) ))
+                    {
+                        Bits.clear(activeColumns, b);
+                        changed = true;
+                    }
+                }
+            }
 
-        if (counterOfNonEssentialImplicantPrimes > 0)
-        {
-            MintermTable tableOfLinesOfPrimeImplicantsForEachMinterm = getTableOfLinesOfPrimeImplicantsForEachMinterm();
-            int[] linesOfPrimeImplicantsToIgnore = new int[mintermsMap.length];
-            Arrays.fill(linesOfPrimeImplicantsToIgnore, -1);
+            // linhas dominadas
+            for (int i = Bits.nextSetBit(activeLines, 0); i != -1; i = Bits.nextSetBit(activeLines, i + 1))
+            {
+                columnsOfEachLine[i] = linesBits[i].clone();
+                Bits.and(columnsOfEachLine[i], activeColumns);
 
-            int[] smallestChoice = new int[mintermsMap.length];
-            Arrays.fill(smallestChoice, Integer.MIN_VALUE);
+                if (Bits.isEmpty(columnsOfEachLine[i]))
+                {
+                    Bits.clear(activeLines, i);
+                    changed = true;
+                }
+            }
 
-            for (int i = 0; i < tableOfLinesOfPrimeImplicantsForEachMinterm.numberOfLines; i++)
+            for (int r = Bits.nextSetBit(activeLines, 0); r != -1; r = Bits.nextSetBit(activeLines, r + 1))
             {
-                // partindo da linha i, percorre todas as possibilidades de
-                // escolha das linhas a baixo na tabela para completar todos
-                // os mintermos e retorna a que for composta por menos escolhas
-                smallestChoice = getSmallestSetOfLinesOfPrimeImplicantsThatCoverAllMinterms(i, tableOfLinesOfPrimeImplicantsForEachMinterm, linesOfPrimeImplicantsToIgnore, 0, smallestChoice);
+                for (int s = Bits.nextSetBit(activeLines, 0); Bits.get(activeLines, r) && s != -1; s = Bits.nextSetBit(activeLines, s + 1))
+                {
+                    if (r != s && Bits.isSubsetOf(columnsOfEachLine[r], columnsOfEachLine[s]) &&
+                            ( r > s || !Bits.isSubsetOf(columnsOfEachLine[s], columnsOfEachLine[r]) ))
+                    {
+                        Bits.clear(activeLines, r);
+                        changed = true;
+                    }
+                }
             }
-
-            int numberOfPrimeImplicants = Array.indexOf(-1, smallestChoice);
-            numberOfPrimeImplicants = ( numberOfPrimeImplicants == -1 ? smallestChoice.length : numberOfPrimeImplicants );
-
-            smallestSetOfNonEssentialImplicantPrimes = new int[numberOfPrimeImplicants];
-            counterOfTheSmallestSetOfNonEssentialImplicantPrimes = numberOfPrimeImplicants;
-            System.arraycopy(smallestChoice, 0, smallestSetOfNonEssentialImplicantPrimes, 0, numberOfPrimeImplicants);
         }
+
+        return counterOfSecondaryEssentials;
     }
 
     /**
@@ -346,48 +604,27 @@ public class CoverageMap
 
     private int getLineKills(int lineIndex)
     {
-        //int numberOfLines = mintermsMap.length;
-        int numberOfColumns = mintermsMap[0].length;
         int lineKills = 0;
 
-        for (int j = 0; j < numberOfColumns; j++)
+        if (!Bits.get(usedLines, lineIndex))
         {
-            if (mintermsMap[lineIndex][j] == 'x')
-            {
-                lineKills++;
-
-                /*for (int i = lineIndex - 1; i > -1; i--)
-                {
-                    if (mintermsMap[i][j] == 'x') lineKills++;
-                }
-
-                for (int i = lineIndex + 1; i < numberOfLines; i++)
-                {
-                    if (mintermsMap[i][j] == 'x') lineKills++;
-                }*/
-            }
+            // os "x" da linha sao os mintermos dela que ainda nao foram cobertos
+            lineKills = Bits.cardinalityOfAnd(linesBits[lineIndex], uncoveredColumns);
         }
 
         return lineKills;
     }
 
     /**
-     * Procura por todo o mapa de cobertura a existencia de alguma marcacao
-     * com "x".
+     * Verifica se o mapa de cobertura ainda tem alguma marcacao com "x", ou
+     * seja, se ainda ha' algum mintermo nao coberto.
      * 
      * @return {@code true} se existir algum "x", caso contrario, {@code false}.
      */
 
     private boolean findUncatchedMinterms()
     {
-        boolean found = false;
-
-        for (int i = 0; !found && i < mintermsMap.length; i++)
-        {
-            found = ( Array.indexOf('x', mintermsMap[i]) != -1 );
-        }
-
-        return found;
+        return numberOfUncoveredColumns > 0;
     }
 
     /**
@@ -405,9 +642,9 @@ public class CoverageMap
         int greatestNumberOfKills = -1;
         int lineKills;
 
-        for (int i = 0; i < counterOfNonEssentialImplicantPrimes; i++)
+        for (int i = 0; i < nonEssentialImplicantPrimes.size(); i++)
         {
-            currentPrimeImplicantLine = nonEssentialImplicantPrimes[i];
+            currentPrimeImplicantLine = nonEssentialImplicantPrimes.get(i);
 
             if (currentPrimeImplicantLine != -1)
             {
@@ -425,7 +662,7 @@ public class CoverageMap
         if (indexOfThePrimeImplicantWithMoreKills != -1)
         {
             // apaga o primo implicante que nao era usado
-            nonEssentialImplicantPrimes[indexOfThePrimeImplicantWithMoreKills] = -1;
+            nonEssentialImplicantPrimes.set(indexOfThePrimeImplicantWithMoreKills, -1);
         }
 
         return lineOfThePrimeImplicantWithMoreKills;
@@ -442,9 +679,9 @@ public class CoverageMap
     {
         int lineOfImplicantPrime = -1;
 
-        if (cursorOfLinesOfEssentialImplicantPrimes < counterOfLinesOfEssentialImplicantPrimes)
+        if (cursorOfLinesOfEssentialImplicantPrimes < linesOfEssentialImplicantPrimes.size())
         {
-            lineOfImplicantPrime = linesOfEssentialImplicantPrimes[cursorOfLinesOfEssentialImplicantPrimes++];
+            lineOfImplicantPrime = linesOfEssentialImplicantPrimes.get(cursorOfLinesOfEssentialImplicantPrimes++);
         }
 
         else
@@ -463,38 +700,14 @@ public class CoverageMap
 
         if (lineOfImplicantPrime != -1)
         {
-            int numberOfLines = mintermsMap.length;
-            int numberOfColumns = mintermsMap[0].length;
-
-            usedImplicantPrimes[counterOfUsedImplicantPrimes++] = lineOfImplicantPrime;
+            usedImplicantPrimes.add(lineOfImplicantPrime);
             statistics[ Array.countChars('_', mintermsAsBinary[lineOfImplicantPrime]) ]++;
 
-            for (int j = 0; j < numberOfColumns; j++)
-            {
-                if (mintermsMap[lineOfImplicantPrime][j] == 'x')
-                {
-                    for (int i = lineOfImplicantPrime - 1; i > -1; i--)
-                    {
-                        if (mintermsMap[i][j] != '-')
-                        {
-                            mintermsMap[i][j] = '|';
-                        }
-                    }
-
-                    for (int i = lineOfImplicantPrime + 1; i < numberOfLines; i++)
-                    {
-                        if (mintermsMap[i][j] != '-')
-                        {
-                            mintermsMap[i][j] = '|';
-                        }
-                    }
-                }
-
-                mintermsMap[lineOfImplicantPrime][j] = '-';
-            }
+            Bits.set(usedLines, lineOfImplicantPrime);
+            coverColumnsOfLine(lineOfImplicantPrime);
 
             isPossibleToSimplify =
-            ( cursorOfLinesOfEssentialImplicantPrimes < counterOfLinesOfEssentialImplicantPrimes ||
+            ( cursorOfLinesOfEssentialImplicantPrimes < linesOfEssentialImplicantPrimes.size() ||
                     findUncatchedMinterms()
             );
         }
@@ -505,20 +718,34 @@ public class CoverageMap
         }
     }
     
-    private int getMintermUsage(int column)
+    /**
+     * Cobre os mintermos da linha visitando apenas as colunas que ela cobre.
+     * As contagens de cobertura de cada coluna e a quantidade de colunas nao
+     * cobertas sao atualizadas aos poucos, assim o custo de um passo depende
+     * do tamanho do primo implicante, e nao do tamanho do mapa.
+     * 
+     * @param lineIndex indice da linha usada
+     */
+
+    private void coverColumnsOfLine(int lineIndex)
     {
-        int usage = 0;
-        int numberOfLines = getNumberOfLines();
-        
-        for (int i = 0; i < numberOfLines; i++)
+        long[] lineBits = linesBits[lineIndex];
+
+        for (int j = Bits.nextSetBit(lineBits, 0); j != -1; j = Bits.nextSetBit(lineBits, j + 1))
         {
-            if (mintermsMap[i][column] == 'x')
+            if (columnCoverCounts[j]++ == 0)
             {
-                usage++;
+                Bits.clear(uncoveredColumns, j);
+                numberOfUncoveredColumns--;
             }
         }
-        
-        return usage;
+    }
+
+    private int getMintermUsage(int column)
+    {
+        // uma coluna ja' coberta nao tem mais nenhum "x". Numa coluna ainda nao
+        // coberta nenhuma das linhas que a cobrem foi usada
+        return ( Bits.get(uncoveredColumns, column) ? Bits.cardinality(columnsBits[column]) : 0 );
     }
     
     private void printHeader(int lengthOfFirstColumn, int lengthOfGreatestMinterm)
@@ -537,14 +764,15 @@ public class CoverageMap
     {
         String line;
         int numberOfLines = getNumberOfLines();
+        int numberOfColumns = getNumberOfColumns();
         
         for (int i = 0; i < numberOfLines; i++)
         {
             line = Strings.centerStrOnABlock(TableLine.getBinaryRepresentation(mintermsAsBinary[i]), lengthOfFirstColumn);
 
-            for (char c : mintermsMap[i])
+            for (int j = 0; j < numberOfColumns; j++)
             {
-                line += " " + Strings.centerStrOnABlock("" + c, lengthOfGreatestMinterm);
+                line += " " + Strings.centerStrOnABlock("" + getMapCharacter(i, j), lengthOfGreatestMinterm);
             }
 
             IO.println(line);
@@ -606,6 +834,9 @@ public class CoverageMap
 
     /**
      * Imprime as estatisticas de grupos de mintermos escolhidos ate' o momento.
+     * Caso a busca pelos primos implicantes nao essenciais ja' tenha sido
+     * feita, imprime tambem o tamanho do mapa restante e do nucleo ciclico
+     * que sobrou para a busca depois da reducao por dominancia.
      */
 
     public void printStatistics()
@@ -625,6 +856,26 @@ public class CoverageMap
                         " de " + numberOfElements + " elemento" + ( numberOfElements != 1 ? "s" : "" ) );
             }
         }
+
+        if (numberOfLinesBeforeTheReduction > 0)
+        {
+            IO.println("\nMapa restante apos os essenciais: " +
+                    numberOfLinesBeforeTheReduction + " primos implicantes x " +
+                    numberOfColumnsBeforeTheReduction + " mintermos");
+
+            IO.println("Nucleo ciclico apos a reducao por dominancia: " +
+                    numberOfLinesOfTheCyclicCore + " primos implicantes x " +
+                    numberOfColumnsOfTheCyclicCore + " mintermos em " +
+                    numberOfBlocksOfTheCyclicCore + " bloco" +
+                    ( numberOfBlocksOfTheCyclicCore != 1 ? "s" : "" ) + " independente" +
+                    ( numberOfBlocksOfTheCyclicCore != 1 ? "s" : "" ));
+        }
+
+        if (!isTheCoverMinimum)
+        {
+            IO.println("A busca parou no limite de " + MinimumCoverSolver.MAX_NODES +
+                    " nos: a cobertura encontrada nao foi provada minima");
+        }
     }
 
     /**
@@ -688,14 +939,36 @@ public class CoverageMap
 
         if (variablesNames != null && variablesNames.length == numberOfVariables)
         {
-            String expression = getExpression(mintermsAsBinary[ usedImplicantPrimes[0] ], variablesNames);
+            String expression = getExpression(mintermsAsBinary[ usedImplicantPrimes.get(0) ], variablesNames);
 
-            for (int i = 1; i < counterOfUsedImplicantPrimes; i++)
+            for (int i = 1; i < usedImplicantPrimes.size(); i++)
             {
-                expression += " + " + getExpression(mintermsAsBinary[ usedImplicantPrimes[i] ], variablesNames);
+                expression += " + " + getExpression(mintermsAsBinary[ usedImplicantPrimes.get(i) ], variablesNames);
             }
 
             IO.println(expression);
         }
     }
+
+    /**
+     * Obtem a cobertura formada pelos primos implicantes ja' escolhidos pelo
+     * metodo proceed, por exemplo para conferi-la com a funcao original.
+     *
+     * @return Cobertura com um cubo por primo implicante usado.
+     */
+
+    public CubeCover getCover()
+    {
+        long[] cubes = new long[ usedImplicantPrimes.size() ];
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            char[] implicantPrime = mintermsAsBinary[ usedImplicantPrimes.get(i) ];
+
+            cubes[i] = CubeCover.getCube(MATH.binaryToCubeValue(implicantPrime),
+                    MATH.binaryToCubeDashMask(implicantPrime));
+        }
+
+        return new CubeCover(cubes, mintermsAsBinary[0].length);
+    }
 }
\ No newline at end of file
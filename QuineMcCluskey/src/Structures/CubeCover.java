@@ -0,0 +1,597 @@
+package Structures;
+
+import java.util.Arrays;
+import Util.Logic;
+
+/**
+ * Cobertura imutavel de uma funcao logica por cubos compactos, cada um com a
+ * mascara de variaveis eliminadas nos 32 bits mais significativos e o valor
+ * nos outros, como os gerados pelos geradores de primos. A funcao e' o OU dos
+ * cubos.
+ *
+ * <p>As operacoes sobre a cobertura (cofator, tautologia, complemento,
+ * continencia e sharp) seguem o paradigma unate recursivo do Espresso: a
+ * cobertura e' dividida nos cofatores da variavel que aparece mais vezes com
+ * os dois valores (a mais binate) ate' chegar numa cobertura unate, que tem
+ * solucao direta. Assim o custo depende da quantidade de cubos e nao dos
+ * 2 ^ numberOfVariables mintermos.</p>
+ *
+ * <ul>
+ * <li>uma cobertura unate e' tautologia somente se tiver o cubo universal, e
+ * os cubos que tem variaveis unate podem ser ignorados no teste;</li>
+ * <li>se a variavel x so' aparece com o valor 1, o cofator em x = 0 esta'
+ * contido no cofator em x = 1, entao o complemento deste esta' contido no
+ * complemento daquele e pode ser juntado sem o literal de x.</li>
+ * </ul>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class CubeCover
+{
+    // a mascara e o valor de cada cubo ocupam 32 bits
+    public static final int MAX_VARIABLES = 32;
+
+    final long[] cubes;
+    final int numberOfVariables;
+    // variaveis da funcao: e' a mascara do cubo universal
+    final long variablesMask;
+
+    /**
+     * Cria a cobertura com os cubos recebidos. O arranjo nao e' copiado e nao
+     * deve ser alterado depois.
+     *
+     * @param cubes cubos compactos, com a mascara de variaveis eliminadas nos
+     * 32 bits mais significativos e o valor nos outros
+     * @param numberOfVariables quantidade de variaveis da funcao
+     *
+     * @throws IllegalArgumentException caso a funcao tenha mais de
+     * {@code MAX_VARIABLES} variaveis.
+     */
+
+    public CubeCover(long[] cubes, int numberOfVariables)
+    {
+        if (numberOfVariables > MAX_VARIABLES)
+        {
+            throw new IllegalArgumentException(
+                    "A funcao tem " + numberOfVariables + " variaveis, o maximo e' " + MAX_VARIABLES);
+        }
+
+        this.cubes = cubes;
+        this.numberOfVariables = numberOfVariables;
+        this.variablesMask = ( 1L << numberOfVariables ) - 1;
+    }
+
+    /**
+     * Cria a cobertura com as linhas da tabela, por exemplo os mintermos de
+     * uma funcao ou os primos de uma cobertura.
+     *
+     * @param mintermTable tabela com os cubos da cobertura
+     *
+     * @return Cobertura com um cubo por linha da tabela.
+     */
+
+    public static CubeCover getCubeCover(MintermTable mintermTable)
+    {
+        long[] cubes = new long[mintermTable.numberOfLines];
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            cubes[i] = getCube( mintermTable.getCubeValue(i), mintermTable.getCubeDashMask(i) );
+        }
+
+        return new CubeCover(cubes, mintermTable.getNumberOfVariablesOfTheCubes());
+    }
+
+    /**
+     * Cria uma tabela nao simplificavel com os cubos da cobertura, que pode
+     * ser impressa ou passada para o metodo CoverageMap.getCoverageMap.
+     *
+     * @param storageMode onde os cubos serao guardados
+     *
+     * @return Tabela com um cubo da cobertura por linha.
+     */
+
+    public MintermTable getMintermTable(MintermTable.StorageMode storageMode)
+    {
+        return MintermTable.getPrimesTable(cubes.clone(), numberOfVariables, storageMode,
+                MintermTable.DEFAULT_MEMORY_BUDGET);
+    }
+
+    public int getNumberOfVariables()
+    {
+        return numberOfVariables;
+    }
+
+    public int getNumberOfCubes()
+    {
+        return cubes.length;
+    }
+
+    public long getCubeValue(int index)
+    {
+        return getValue(cubes[index]);
+    }
+
+    public long getCubeDashMask(int index)
+    {
+        return getDashMask(cubes[index]);
+    }
+
+    public static long getCube(long cubeValue, long cubeDashMask)
+    {
+        return ( cubeDashMask << 32 ) | cubeValue;
+    }
+
+    private static long getValue(long cube)
+    {
+        return cube & 0xFFFFFFFFL;
+    }
+
+    private static long getDashMask(long cube)
+    {
+        return cube >>> 32;
+    }
+
+    /**
+     * Obtem o cofator da cobertura em relacao a um cubo: os cubos que
+     * intersectam o cubo recebido, com as variaveis que ele fixa eliminadas.
+     * A funcao do cofator e' igual a' da cobertura em todo mintermo do cubo.
+     *
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     *
+     * @return Cofator da cobertura em relacao ao cubo.
+     */
+
+    public CubeCover getCofactor(long cubeValue, long cubeDashMask)
+    {
+        return new CubeCover(getCofactor(cubes, cubeValue, cubeDashMask, variablesMask), numberOfVariables);
+    }
+
+    /**
+     * Verifica se a cobertura e' uma tautologia, ou seja, se todos os
+     * mintermos da funcao retornam 1.
+     *
+     * @return {@code true} se a cobertura cobrir todos os mintermos.
+     */
+
+    public boolean isTautology()
+    {
+        return isTautology(cubes, variablesMask);
+    }
+
+    /**
+     * Verifica se todos os mintermos do cubo sao cobertos pela cobertura, o
+     * que equivale ao cofator da cobertura em relacao ao cubo ser tautologia.
+     *
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     *
+     * @return {@code true} se a cobertura contem o cubo.
+     */
+
+    public boolean contains(long cubeValue, long cubeDashMask)
+    {
+        return isTautology(getCofactor(cubes, cubeValue, cubeDashMask, variablesMask), variablesMask);
+    }
+
+    /**
+     * Verifica se todos os mintermos da outra cobertura sao cobertos por esta.
+     *
+     * @param other cobertura com a mesma quantidade de variaveis
+     *
+     * @return {@code true} se esta cobertura contem a outra.
+     */
+
+    public boolean contains(CubeCover other)
+    {
+        boolean contains = true;
+
+        for (int i = 0; contains && i < other.cubes.length; i++)
+        {
+            contains = contains( getValue(other.cubes[i]), getDashMask(other.cubes[i]) );
+        }
+
+        return contains;
+    }
+
+    /**
+     * Verifica se as duas coberturas representam a mesma funcao, por exemplo
+     * para conferir uma cobertura minimizada com os mintermos da funcao.
+     *
+     * @param other cobertura com a mesma quantidade de variaveis
+     *
+     * @return {@code true} se cada cobertura contem a outra.
+     */
+
+    public boolean isEquivalentTo(CubeCover other)
+    {
+        return contains(other) && other.contains(this);
+    }
+
+    /**
+     * Obtem uma cobertura do complemento da funcao, por exemplo os cubos do
+     * OFF-set a partir dos do ON-set. Nenhum cubo do resultado esta' contido
+     * em outro.
+     *
+     * @return Cobertura dos mintermos que nao sao cobertos por esta.
+     */
+
+    public CubeCover getComplement()
+    {
+        return new CubeCover(getComplement(cubes, variablesMask), numberOfVariables);
+    }
+
+    /**
+     * Obtem o sharp desta cobertura com a outra: os mintermos cobertos por
+     * esta e nao pela outra. Para cada cubo desta cobertura, o complemento do
+     * cofator da outra em relacao ao cubo e' intersectado com o cubo, entao
+     * so' a parte da outra cobertura que toca o cubo e' complementada.
+     *
+     * @param other cobertura com a mesma quantidade de variaveis
+     *
+     * @return Cobertura sem cubos contidos em outros.
+     */
+
+    public CubeCover getSharp(CubeCover other)
+    {
+        long[] sharp = new long[ Math.max(1, cubes.length) ];
+        int numberOfCubes = 0;
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            long cubeValue = getValue(cubes[i]);
+            long cubeDashMask = getDashMask(cubes[i]);
+            // os cubos do complemento nao fixam as variaveis fixadas pelo
+            // cubo, entao todos intersectam o cubo
+            long[] complement = getComplement(
+                    getCofactor(other.cubes, cubeValue, cubeDashMask, variablesMask), variablesMask);
+
+            if (numberOfCubes + complement.length > sharp.length)
+            {
+                sharp = Arrays.copyOf(sharp, Math.max(2 * sharp.length, numberOfCubes + complement.length));
+            }
+
+            for (int j = 0; j < complement.length; j++)
+            {
+                sharp[ numberOfCubes++ ] = getCube(cubeValue | getValue(complement[j]),
+                        cubeDashMask & getDashMask(complement[j]));
+            }
+        }
+
+        return new CubeCover(removeContainedCubes( Arrays.copyOf(sharp, numberOfCubes) ), numberOfVariables);
+    }
+
+    /**
+     * Cofator de uma lista de cubos em relacao a um cubo.
+     */
+
+    private static long[] getCofactor(long[] cubes, long cubeValue, long cubeDashMask, long variablesMask)
+    {
+        // variaveis fixadas pelo cubo, que sao eliminadas no cofator
+        long fixedVariables = variablesMask & ~cubeDashMask;
+        long[] cofactor = new long[cubes.length];
+        int numberOfCubes = 0;
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            long value = getValue(cubes[i]);
+            long dashMask = getDashMask(cubes[i]);
+
+            if (Logic.intersects(value, dashMask, cubeValue, cubeDashMask))
+            {
+                cofactor[ numberOfCubes++ ] = getCube(value & ~fixedVariables, dashMask | fixedVariables);
+            }
+        }
+
+        return Arrays.copyOf(cofactor, numberOfCubes);
+    }
+
+    /**
+     * Cofator de uma lista de cubos em relacao a um literal.
+     *
+     * @param variable mascara com o bit da variavel do literal
+     * @param value {@code variable} se o literal for x ou 0 se for x'
+     */
+
+    private static long[] getCofactor(long[] cubes, long variable, long value)
+    {
+        return getCofactor(cubes, value, ~variable, variable);
+    }
+
+    /**
+     * Teste recursivo de tautologia: cobertura com o cubo universal e' sempre
+     * tautologia; cobertura com menos mintermos, contando os repetidos, que a
+     * tabela verdade ou unate sem o cubo universal nunca e'. Os cubos com
+     * variaveis unate sao descartados e os que sobram sao divididos pela
+     * variavel mais binate.
+     */
+
+    private static boolean isTautology(long[] cubes, long variablesMask)
+    {
+        long numberOfMinterms = 1L << Long.bitCount(variablesMask);
+        // soma dos mintermos dos cubos, parando quando passar do total
+        long coveredMinterms = 0;
+        // variaveis que aparecem com o valor 1 e com o valor 0
+        long ones = 0;
+        long zeros = 0;
+        boolean hasUniversalCube = false;
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            long value = getValue(cubes[i]);
+            long dashMask = getDashMask(cubes[i]);
+
+            hasUniversalCube |= ( dashMask == variablesMask );
+            ones |= value;
+            zeros |= ~value & ~dashMask & variablesMask;
+
+            if (coveredMinterms < numberOfMinterms) coveredMinterms += 1L << Long.bitCount(dashMask);
+        }
+
+        long binateVariables = ones & zeros;
+        long unateVariables = ( ones | zeros ) & ~binateVariables;
+        boolean isTautology;
+
+        if (hasUniversalCube) isTautology = true;
+
+        else if (coveredMinterms < numberOfMinterms || binateVariables == 0) isTautology = false;
+
+        else if (unateVariables != 0)
+        {
+            // se x so' aparece com 1, a cobertura e' tautologia somente se o
+            // cofator em x = 0, que tem apenas os cubos sem x, for
+            isTautology = isTautology(getCubesWithout(cubes, unateVariables), variablesMask);
+        }
+
+        else
+        {
+            long variable = getMostBinateVariable(cubes, binateVariables);
+
+            isTautology = isTautology(getCofactor(cubes, variable, 0), variablesMask) &&
+                    isTautology(getCofactor(cubes, variable, variable), variablesMask);
+        }
+
+        return isTautology;
+    }
+
+    /**
+     * @return Cubos que nao fixam nenhuma das variaveis recebidas.
+     */
+
+    private static long[] getCubesWithout(long[] cubes, long variables)
+    {
+        long[] cubesWithout = new long[cubes.length];
+        int numberOfCubes = 0;
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            if (( variables & ~getDashMask(cubes[i]) ) == 0) cubesWithout[ numberOfCubes++ ] = cubes[i];
+        }
+
+        return Arrays.copyOf(cubesWithout, numberOfCubes);
+    }
+
+    /**
+     * Escolhe, dentre as variaveis candidatas, a que e' fixada por mais cubos,
+     * desempatando pela que tem as quantidades de 1 e de 0 mais proximas.
+     *
+     * @return Mascara com o bit da variavel escolhida.
+     */
+
+    private static long getMostBinateVariable(long[] cubes, long candidates)
+    {
+        int[] ones = new int[64];
+        int[] zeros = new int[64];
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            long value = getValue(cubes[i]);
+            long fixedCandidates = candidates & ~getDashMask(cubes[i]);
+
+            for (long bits = fixedCandidates; bits != 0; bits &= bits - 1)
+            {
+                int variable = Long.numberOfTrailingZeros(bits);
+
+                if (( value & ( 1L << variable ) ) != 0) ones[variable]++;
+                else zeros[variable]++;
+            }
+        }
+
+        int bestVariable = Long.numberOfTrailingZeros(candidates);
+
+        for (long bits = candidates; bits != 0; bits &= bits - 1)
+        {
+            int variable = Long.numberOfTrailingZeros(bits);
+            int occurrences = ones[variable] + zeros[variable];
+            int bestOccurrences = ones[bestVariable] + zeros[bestVariable];
+
+            if (occurrences > bestOccurrences || occurrences == bestOccurrences &&
+                    Math.abs(ones[variable] - zeros[variable]) < Math.abs(ones[bestVariable] - zeros[bestVariable]))
+            {
+                bestVariable = variable;
+            }
+        }
+
+        return 1L << bestVariable;
+    }
+
+    /**
+     * Complemento recursivo: a cobertura vazia tem o cubo universal como
+     * complemento, a que tem o cubo universal nao tem complemento e um unico
+     * cubo e' complementado pela lei de De Morgan. As outras sao divididas
+     * pela variavel mais binate, ou pela que aparece mais caso a cobertura
+     * seja unate, e os complementos dos cofatores sao juntados.
+     */
+
+    private static long[] getComplement(long[] cubes, long variablesMask)
+    {
+        long ones = 0;
+        long zeros = 0;
+        boolean hasUniversalCube = false;
+
+        for (int i = 0; i < cubes.length; i++)
+        {
+            long value = getValue(cubes[i]);
+            long dashMask = getDashMask(cubes[i]);
+
+            hasUniversalCube |= ( dashMask == variablesMask );
+            ones |= value;
+            zeros |= ~value & ~dashMask & variablesMask;
+        }
+
+        long[] complement;
+
+        if (cubes.length == 0) complement = new long[] { getCube(0, variablesMask) };
+
+        else if (hasUniversalCube) complement = new long[0];
+
+        else if (cubes.length == 1) complement = getComplementOfTheCube(cubes[0], variablesMask);
+
+        else
+        {
+            long binateVariables = ones & zeros;
+            long variable = getMostBinateVariable(cubes, binateVariables != 0 ? binateVariables : ones | zeros);
+
+            complement = merge(
+                    getComplement(getCofactor(cubes, variable, 0), variablesMask),
+                    getComplement(getCofactor(cubes, variable, variable), variablesMask),
+                    variable, ( zeros & variable ) == 0, ( ones & variable ) == 0);
+        }
+
+        return complement;
+    }
+
+    /**
+     * Complemento de um cubo pela lei de De Morgan: um cubo com o literal
+     * oposto para cada variavel fixada pelo cubo.
+     */
+
+    private static long[] getComplementOfTheCube(long cube, long variablesMask)
+    {
+        long value = getValue(cube);
+        long fixedVariables = variablesMask & ~getDashMask(cube);
+        long[] complement = new long[ Long.bitCount(fixedVariables) ];
+        int numberOfCubes = 0;
+
+        for (long bits = fixedVariables; bits != 0; bits &= bits - 1)
+        {
+            long variable = bits & -bits;
+
+            complement[ numberOfCubes++ ] = getCube(~value & variable, variablesMask & ~variable);
+        }
+
+        return complement;
+    }
+
+    /**
+     * Junta os complementos dos cofatores de uma variavel, que nao tem a
+     * variavel, colocando x' nos cubos do primeiro e x nos do segundo. Cubos
+     * que estao nos dois complementos entram sem o literal, assim como todos
+     * os cubos de um complemento que esta' contido no outro, e os cubos com
+     * literal contidos nesses sao descartados.
+     *
+     * @param complement0 complemento do cofator em x = 0
+     * @param complement1 complemento do cofator em x = 1
+     * @param variable mascara com o bit da variavel x
+     * @param isComplement1Contained {@code true} se x so' aparece com 1 na
+     * cobertura, o que faz o complemento do cofator em x = 1 estar contido no
+     * do cofator em x = 0
+     * @param isComplement0Contained {@code true} se x so' aparece com 0
+     */
+
+    private static long[] merge(long[] complement0, long[] complement1, long variable,
+            boolean isComplement1Contained, boolean isComplement0Contained)
+    {
+        long[] raisedCubes = new long[complement0.length + complement1.length];
+        long[] cubes = new long[raisedCubes.length];
+        int numberOfRaisedCubes = 0;
+        int numberOfCubes = 0;
+        int i = 0;
+        int j = 0;
+
+        Arrays.sort(complement0);
+        Arrays.sort(complement1);
+
+        while (i < complement0.length || j < complement1.length)
+        {
+            if (j == complement1.length || i < complement0.length && complement0[i] < complement1[j])
+            {
+                if (isComplement0Contained) raisedCubes[ numberOfRaisedCubes++ ] = complement0[i];
+                else cubes[ numberOfCubes++ ] = complement0[i] & ~( variable << 32 );
+
+                i++;
+            }
+
+            else if (i == complement0.length || complement1[j] < complement0[i])
+            {
+                if (isComplement1Contained) raisedCubes[ numberOfRaisedCubes++ ] = complement1[j];
+                else cubes[ numberOfCubes++ ] = ( complement1[j] & ~( variable << 32 ) ) | variable;
+
+                j++;
+            }
+
+            else
+            {
+                raisedCubes[ numberOfRaisedCubes++ ] = complement0[i];
+                i++;
+                j++;
+            }
+        }
+
+        // os cubos sem literal nao contem uns aos outros, pois cada
+        // complemento ja' nao tinha cubos contidos em outros
+        long[] merged = Arrays.copyOf(raisedCubes, numberOfRaisedCubes + numberOfCubes);
+        int numberOfMergedCubes = numberOfRaisedCubes;
+
+        for (int k = 0; k < numberOfCubes; k++)
+        {
+            if (!isContainedInAnyOf(cubes[k], raisedCubes, numberOfRaisedCubes))
+            {
+                merged[ numberOfMergedCubes++ ] = cubes[k];
+            }
+        }
+
+        return Arrays.copyOf(merged, numberOfMergedCubes);
+    }
+
+    private static boolean isContainedInAnyOf(long cube, long[] cubes, int numberOfCubes)
+    {
+        boolean isContained = false;
+
+        for (int i = 0; !isContained && i < numberOfCubes; i++)
+        {
+            isContained = Logic.contains(getValue(cubes[i]), getDashMask(cubes[i]), getValue(cube), getDashMask(cube));
+        }
+
+        return isContained;
+    }
+
+    /**
+     * Descarta os cubos contidos em outros cubos da lista, mantendo um de
+     * cada grupo de cubos iguais.
+     */
+
+    private static long[] removeContainedCubes(long[] cubes)
+    {
+        long[] remainingCubes = new long[cubes.length];
+        int numberOfRemainingCubes = 0;
+
+        // os maiores primeiro: um cubo so' pode estar contido num que tenha
+        // pelo menos tantas variaveis eliminadas quanto ele
+        for (int dashes = MAX_VARIABLES; dashes >= 0; dashes--)
+        {
+            for (int i = 0; i < cubes.length; i++)
+            {
+                if (Long.bitCount( getDashMask(cubes[i]) ) == dashes &&
+                        !isContainedInAnyOf(cubes[i], remainingCubes, numberOfRemainingCubes))
+                {
+                    remainingCubes[ numberOfRemainingCubes++ ] = cubes[i];
+                }
+            }
+        }
+
+        return Arrays.copyOf(remainingCubes, numberOfRemainingCubes);
+    }
+}
@@ -0,0 +1,171 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Tabela hash de enderecamento aberto que associa cada cubo compacto (bits de
+ * valor e mascara de variaveis eliminadas) ao indice da sua linha numa
+ * {@code MintermTable}. Serve para descobrir em O(1) se um vizinho de um cubo
+ * existe na tabela, sem precisar compara'-lo com todas as outras linhas.
+ *
+ * <p>O indice guarda apenas os numeros das linhas; os cubos sao lidos do
+ * {@code CubeStorage} da tabela. A tabela hash dobra de tamanho quando fica
+ * mais que metade ocupada e pode ser esvaziada para ser reaproveitada por
+ * outro nivel da tabela.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class CubeIndex
+{
+    // cubos das linhas indexadas
+    CubeStorage cubes;
+    // guarda o indice da linha + 1 para que 0 signifique posicao vazia
+    int[] lines;
+    int positionsMask;
+    int numberOfCubes;
+
+    /**
+     * Cria um indice com espaco suficiente para {@code numberOfCubes} cubos
+     * mantendo a tabela hash com no maximo metade das posicoes ocupadas.
+     *
+     * @param cubes cubos das linhas que serao indexadas
+     * @param numberOfCubes quantidade de cubos que serao indexados
+     */
+
+    CubeIndex(CubeStorage cubes, int numberOfCubes)
+    {
+        int capacity = Integer.highestOneBit( Math.max(2, numberOfCubes) * 2 - 1 ) * 2;
+
+        this.cubes = cubes;
+        this.lines = new int[capacity];
+        this.positionsMask = capacity - 1;
+        this.numberOfCubes = 0;
+    }
+
+    /**
+     * Obtem uma estimativa, em bytes, da memoria ocupada pela tabela hash.
+     *
+     * @return Estimativa da memoria ocupada pelo indice.
+     */
+
+    long getFootprint()
+    {
+        // arranjo de int com cabecalho de 16 bytes
+        return ( 16 + 4L * lines.length + 7 ) & ~7L;
+    }
+
+    /**
+     * Esvazia o indice mantendo a tabela hash para que possa ser reaproveitada.
+     */
+
+    void clear()
+    {
+        Arrays.fill(lines, 0);
+        numberOfCubes = 0;
+    }
+
+    /**
+     * Dobra o tamanho da tabela hash e reinsere as linhas.
+     */
+
+    private void grow()
+    {
+        int[] oldLines = lines;
+        int capacity = oldLines.length * 2;
+
+        lines = new int[capacity];
+        positionsMask = capacity - 1;
+
+        for (int i = 0; i < oldLines.length; i++)
+        {
+            if (oldLines[i] != 0)
+            {
+                int line = oldLines[i] - 1;
+                int position = getFirstPosition(cubes.getCubeValue(line), cubes.getCubeDashMask(line));
+
+                while (lines[position] != 0)
+                {
+                    position = ( position + 1 ) & positionsMask;
+                }
+
+                lines[position] = oldLines[i];
+            }
+        }
+    }
+
+    private int getFirstPosition(long cubeValue, long cubeDashMask)
+    {
+        long hash = ( cubeValue * 0x9E3779B97F4A7C15L ) ^ ( cubeDashMask * 0xC2B2AE3D27D4EB4FL );
+
+        return (int) ( hash ^ ( hash >>> 32 ) ) & positionsMask;
+    }
+
+    /**
+     * Procura a posicao da tabela hash onde o cubo esta' ou, caso ele nao
+     * esteja no indice, a posicao vazia onde ele deveria ser colocado.
+     */
+
+    private int getPosition(long cubeValue, long cubeDashMask)
+    {
+        int position = getFirstPosition(cubeValue, cubeDashMask);
+        boolean found = false;
+        int line;
+
+        while (!found && lines[position] != 0)
+        {
+            line = lines[position] - 1;
+            found = ( cubes.getCubeValue(line) == cubeValue && cubes.getCubeDashMask(line) == cubeDashMask );
+
+            if (!found)
+            {
+                position = ( position + 1 ) & positionsMask;
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * Indexa o cubo que ja' esta' guardado na linha recebida. Caso o mesmo
+     * cubo ja' esteja no indice, a linha associada anteriormente e' mantida.
+     *
+     * @param line indice da linha do cubo, que ja' deve estar no
+     * {@code CubeStorage}
+     *
+     * @return Indice da linha que ja' estava associada ao cubo ou -1 caso o
+     * cubo ainda nao estivesse no indice.
+     */
+
+    int add(int line)
+    {
+        int position = getPosition(cubes.getCubeValue(line), cubes.getCubeDashMask(line));
+        int existingLine = lines[position] - 1;
+
+        if (existingLine == -1)
+        {
+            lines[position] = line + 1;
+
+            if (++numberOfCubes * 2 > lines.length)
+            {
+                grow();
+            }
+        }
+
+        return existingLine;
+    }
+
+    /**
+     * Procura o cubo no indice.
+     *
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     *
+     * @return Indice da linha do cubo na tabela ou -1 caso ele nao exista.
+     */
+
+    int indexOf(long cubeValue, long cubeDashMask)
+    {
+        return lines[ getPosition(cubeValue, cubeDashMask) ] - 1;
+    }
+}
@@ -0,0 +1,87 @@
+package Structures;
+
+/**
+ * Arranjo de cubos compactos (bits de valor e mascara de variaveis
+ * eliminadas) usado pela {@code MintermTable}. A forma de guardar os cubos
+ * depende da implementacao: no heap, com {@code HeapCubeStorage}, fora dele,
+ * com {@code DirectCubeStorage}, ou num arquivo mapeado, com
+ * {@code MappedCubeStorage}.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+abstract class CubeStorage
+{
+    /**
+     * Cria um arranjo de cubos com a capacidade e o modo de armazenamento
+     * recebidos.
+     *
+     * @param capacity quantidade de cubos que cabem no arranjo
+     * @param storageMode onde os cubos serao guardados
+     *
+     * @return Novo arranjo de cubos.
+     */
+
+    static CubeStorage create(int capacity, MintermTable.StorageMode storageMode)
+    {
+        CubeStorage cubeStorage;
+
+        if (storageMode == MintermTable.StorageMode.OFF_HEAP)
+        {
+            cubeStorage = new DirectCubeStorage(capacity);
+        }
+
+        else if (storageMode == MintermTable.StorageMode.MAPPED_FILE)
+        {
+            cubeStorage = new MappedCubeStorage(capacity);
+        }
+
+        else
+        {
+            cubeStorage = new HeapCubeStorage(capacity);
+        }
+
+        return cubeStorage;
+    }
+
+    abstract MintermTable.StorageMode getStorageMode();
+
+    abstract int getCapacity();
+
+    abstract long getCubeValue(int index);
+
+    abstract long getCubeDashMask(int index);
+
+    abstract void setCube(int index, long cubeValue, long cubeDashMask);
+
+    /**
+     * Aumenta a capacidade do arranjo mantendo os cubos ja' guardados.
+     *
+     * @param newCapacity nova quantidade de cubos que cabem no arranjo
+     */
+
+    abstract void grow(int newCapacity);
+
+    /**
+     * Solta a memoria dos cubos de uma vez. O arranjo fica com capacidade 0
+     * e pode crescer de novo pelo metodo grow.
+     */
+
+    abstract void release();
+
+    /**
+     * Obtem uma estimativa, em bytes, da memoria ocupada pelos cubos,
+     * considerando {@code capacity} cubos.
+     *
+     * @param capacity quantidade de cubos
+     *
+     * @return Estimativa da memoria ocupada pelos cubos.
+     */
+
+    abstract long getFootprint(int capacity);
+
+    long getFootprint()
+    {
+        return getFootprint( getCapacity() );
+    }
+}
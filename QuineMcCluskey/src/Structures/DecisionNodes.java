@@ -0,0 +1,150 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Nos de um diagrama de decisao (BDD ou ZDD) guardados em arranjos de
+ * primitivos: o no de indice k testa a variavel {@code variables[k]} e tem
+ * os filhos {@code lows[k]} e {@code highs[k]}. Os indices 0 e 1 sao os
+ * terminais, com variavel -1, menor que a de qualquer no interno.
+ *
+ * <p>Cada no (variavel, filho 0, filho 1) existe uma vez so': os nos ficam
+ * numa tabela hash encadeada pelos proprios indices, entao dois diagramas
+ * iguais tem o mesmo indice. As regras de reducao, que sao diferentes no BDD e
+ * no ZDD, ficam a cargo de quem cria os nos.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class DecisionNodes
+{
+    static final int TERMINAL_VARIABLE = -1;
+
+    int[] variables;
+    int[] lows;
+    int[] highs;
+    // proximo no do mesmo balde da tabela hash, -1 no ultimo
+    int[] nextNodes;
+    // primeiro no de cada balde, -1 se vazio
+    int[] buckets;
+    int numberOfNodes;
+
+    DecisionNodes(int capacity)
+    {
+        capacity = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        variables = new int[capacity];
+        lows = new int[capacity];
+        highs = new int[capacity];
+        nextNodes = new int[capacity];
+        buckets = new int[capacity];
+        Arrays.fill(buckets, -1);
+
+        // terminais 0 e 1
+        for (numberOfNodes = 0; numberOfNodes < 2; numberOfNodes++)
+        {
+            variables[numberOfNodes] = TERMINAL_VARIABLE;
+            lows[numberOfNodes] = highs[numberOfNodes] = numberOfNodes;
+        }
+    }
+
+    /**
+     * Procura o no com a variavel e os filhos recebidos, criando-o caso ele
+     * ainda nao exista.
+     *
+     * @return Indice do no.
+     */
+
+    int getNode(int variable, int low, int high)
+    {
+        int bucket = hash(variable, low, high) & ( buckets.length - 1 );
+        int node = buckets[bucket];
+
+        while (node != -1 && ( variables[node] != variable || lows[node] != low || highs[node] != high ))
+        {
+            node = nextNodes[node];
+        }
+
+        if (node == -1)
+        {
+            if (numberOfNodes == variables.length)
+            {
+                grow();
+                bucket = hash(variable, low, high) & ( buckets.length - 1 );
+            }
+
+            node = numberOfNodes++;
+            variables[node] = variable;
+            lows[node] = low;
+            highs[node] = high;
+            nextNodes[node] = buckets[bucket];
+            buckets[bucket] = node;
+        }
+
+        return node;
+    }
+
+    /**
+     * Troca a variavel e os filhos de um no que ja' existe, mantendo o
+     * indice dele. Usado na reordenacao das variaveis do BDD, em que o no
+     * continua representando a mesma funcao. Nenhum outro no pode ter a
+     * variavel e os filhos novos.
+     */
+
+    void replaceNode(int node, int variable, int low, int high)
+    {
+        int bucket = hash(variables[node], lows[node], highs[node]) & ( buckets.length - 1 );
+
+        // retira o no do balde antigo
+        if (buckets[bucket] == node) buckets[bucket] = nextNodes[node];
+
+        else
+        {
+            int previous = buckets[bucket];
+
+            while (nextNodes[previous] != node) previous = nextNodes[previous];
+
+            nextNodes[previous] = nextNodes[node];
+        }
+
+        variables[node] = variable;
+        lows[node] = low;
+        highs[node] = high;
+        bucket = hash(variable, low, high) & ( buckets.length - 1 );
+        nextNodes[node] = buckets[bucket];
+        buckets[bucket] = node;
+    }
+
+    private static int hash(int variable, int low, int high)
+    {
+        int hash = variable * 0x9E3779B9 + low;
+
+        hash = hash * 0x85EBCA6B + high;
+
+        return hash ^ ( hash >>> 16 );
+    }
+
+    /**
+     * Dobra os arranjos e redistribui os nos nos baldes, mantendo um balde
+     * por no.
+     */
+
+    private void grow()
+    {
+        int capacity = variables.length * 2;
+
+        variables = Arrays.copyOf(variables, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        nextNodes = Arrays.copyOf(nextNodes, capacity);
+        buckets = new int[capacity];
+        Arrays.fill(buckets, -1);
+
+        for (int node = 2; node < numberOfNodes; node++)
+        {
+            int bucket = hash(variables[node], lows[node], highs[node]) & ( capacity - 1 );
+
+            nextNodes[node] = buckets[bucket];
+            buckets[bucket] = node;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package Structures;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import Util.Buffers;
+
+/**
+ * Guarda os cubos num {@code ByteBuffer} direto, fora do heap. O cubo i ocupa
+ * as posicoes 2i (bits de valor) e 2i + 1 (mascara) do buffer, entao o valor
+ * e a mascara de um cubo ficam lado a lado na memoria.
+ *
+ * <p>No heap fica apenas o objeto do buffer, entao o tamanho do heap e o
+ * trabalho do coletor de lixo nao crescem com a quantidade de cubos. Os
+ * metodos release e grow devolvem a memoria do buffer descartado ao sistema
+ * na hora, pelo metodo Buffers.free, sem esperar o coletor de lixo.</p>
+ *
+ * <p>Um buffer tem no maximo 2 GB, entao cabem no maximo
+ * {@code MAX_CAPACITY} cubos, cerca de 134 milhoes.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class DirectCubeStorage extends CubeStorage
+{
+    // cada cubo ocupa 16 bytes e um buffer tem no maximo Integer.MAX_VALUE bytes
+    static final int MAX_CAPACITY = Integer.MAX_VALUE / 16;
+
+    // buffer direto do qual cubes e' a visao, null quando os cubos nao
+    // estao num buffer criado por esta classe
+    ByteBuffer bytes;
+    LongBuffer cubes;
+    int capacity;
+
+    DirectCubeStorage(int capacity)
+    {
+        this(allocate(capacity), capacity);
+    }
+
+    private DirectCubeStorage(ByteBuffer bytes, int capacity)
+    {
+        this(bytes.asLongBuffer(), capacity);
+        this.bytes = bytes;
+    }
+
+    DirectCubeStorage(LongBuffer cubes, int capacity)
+    {
+        this.cubes = cubes;
+        this.capacity = capacity;
+    }
+
+    private static ByteBuffer allocate(int capacity)
+    {
+        long bytes = 16L * capacity;
+
+        if (bytes > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Um buffer direto guarda no maximo " + MAX_CAPACITY +
+                    " cubos, mas foram pedidos " + capacity + " (" + bytes + " bytes)");
+        }
+
+        return ByteBuffer.allocateDirect( (int) bytes ).order( ByteOrder.nativeOrder() );
+    }
+
+    @Override
+    MintermTable.StorageMode getStorageMode()
+    {
+        return MintermTable.StorageMode.OFF_HEAP;
+    }
+
+    @Override
+    int getCapacity()
+    {
+        return capacity;
+    }
+
+    @Override
+    long getCubeValue(int index)
+    {
+        return cubes.get(2 * index);
+    }
+
+    @Override
+    long getCubeDashMask(int index)
+    {
+        return cubes.get(2 * index + 1);
+    }
+
+    @Override
+    void setCube(int index, long cubeValue, long cubeDashMask)
+    {
+        cubes.put(2 * index, cubeValue);
+        cubes.put(2 * index + 1, cubeDashMask);
+    }
+
+    @Override
+    void grow(int newCapacity)
+    {
+        ByteBuffer newBytes = allocate(newCapacity);
+        LongBuffer newCubes = newBytes.asLongBuffer();
+
+        cubes.clear();
+        newCubes.put(cubes);
+        newCubes.clear();
+
+        Buffers.free(bytes);
+        bytes = newBytes;
+        cubes = newCubes;
+        capacity = newCapacity;
+    }
+
+    @Override
+    void release()
+    {
+        Buffers.free(bytes);
+        bytes = allocate(0);
+        cubes = bytes.asLongBuffer();
+        capacity = 0;
+    }
+
+    @Override
+    long getFootprint(int capacity)
+    {
+        return 16L * capacity;
+    }
+}
@@ -0,0 +1,393 @@
+package Structures;
+
+import java.util.Arrays;
+import Util.Bits;
+
+/**
+ * Minimizador heuristico no estilo do Espresso: parte dos mintermos da
+ * funcao e repete os passos EXPAND, IRREDUNDANT e REDUCE sobre cubos
+ * compactos (valor e mascara de variaveis eliminadas) enquanto a cobertura
+ * diminuir. Nao gera todos os primos implicantes nem resolve a cobertura
+ * exata, entao o custo e' polinomial no tamanho da tabela verdade, mas a
+ * cobertura encontrada e' apenas proxima da minima.
+ *
+ * <ul>
+ * <li>EXPAND: aumenta cada cubo eliminando, uma de cada vez, a variavel cuja
+ * eliminacao mantem o cubo dentro da funcao e cobre mais mintermos ainda nao
+ * cobertos, ate' o cubo virar um primo implicante. Cubos cujos mintermos ja'
+ * foram cobertos pelos anteriores sao descartados;</li>
+ * <li>IRREDUNDANT: retira, dos menores para os maiores, os cubos cujos
+ * mintermos sao todos cobertos por outros cubos;</li>
+ * <li>REDUCE: diminui cada cubo para o menor cubo que contem os mintermos que
+ * so' ele cobre, para que o proximo EXPAND possa aumenta'-lo em outra
+ * direcao.</li>
+ * </ul>
+ *
+ * <p>A funcao e' guardada como uma {@code TruthTable} e cada mintermo tem um
+ * contador de quantos cubos da cobertura o cobrem, entao testar ou atualizar
+ * um cubo custa a quantidade de mintermos dele.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class EspressoMinimizer
+{
+    // o contador de cada mintermo ocupa 4 bytes: 2 ^ 24 mintermos = 64 MB
+    static final int MAX_VARIABLES = 24;
+    // acima disso o caminho exato (primos + cobertura) e' inviavel
+    static final int MAX_VARIABLES_FOR_THE_EXACT_PATH = 16;
+
+    public enum Mode
+    {
+        // sempre gera os primos e resolve a cobertura exata
+        EXACT,
+        // sempre usa o minimizador heuristico
+        HEURISTIC,
+        // usa o minimizador heuristico quando a funcao tem mais de
+        // MAX_VARIABLES_FOR_THE_EXACT_PATH variaveis
+        AUTOMATIC
+    }
+
+    /**
+     * Decide se a funcao deve ser minimizada por esta classe em vez do
+     * caminho exato, de acordo com o modo recebido.
+     *
+     * @param mintermsTable tabela gerada pelo metodo MintermTable.getMintermsTable
+     * @param mode quando trocar o caminho exato pelo minimizador heuristico
+     *
+     * @return {@code true} se o minimizador heuristico deve ser usado.
+     */
+
+    public static boolean isPreferredFor(MintermTable mintermsTable, Mode mode)
+    {
+        return mintermsTable != null && ( mode == Mode.HEURISTIC ||
+                mode == Mode.AUTOMATIC && mintermsTable.numberOfVariables > MAX_VARIABLES_FOR_THE_EXACT_PATH );
+    }
+
+    /**
+     * Encontra uma cobertura da funcao cujos mintermos estao em
+     * {@code mintermsTable} com poucos primos implicantes e poucos literais.
+     * A tabela gerada pode ser passada diretamente para o metodo
+     * CoverageMap.getCoverageMap, em que todos os primos serao essenciais.
+     *
+     * @param mintermsTable tabela de mintermos da funcao logica
+     *
+     * @return Tabela nao simplificavel com os primos da cobertura.
+     *
+     * @throws IllegalArgumentException caso a funcao tenha mais de
+     * {@code MAX_VARIABLES} variaveis.
+     */
+
+    public static MintermTable getCover(MintermTable mintermsTable)
+    {
+        int numberOfVariables = mintermsTable.getNumberOfVariablesOfTheCubes();
+
+        if (numberOfVariables > MAX_VARIABLES)
+        {
+            throw new IllegalArgumentException(
+                    "A funcao tem " + numberOfVariables + " variaveis, o maximo e' " + MAX_VARIABLES);
+        }
+
+        EspressoMinimizer minimizer = new EspressoMinimizer(
+                new TruthTable(mintermsTable, numberOfVariables), numberOfVariables);
+
+        return MintermTable.getPrimesTable(minimizer.minimize(), numberOfVariables,
+                mintermsTable.getStorageMode(), mintermsTable.getMemoryBudget());
+    }
+
+    // bits dos mintermos da funcao
+    long[] onSet;
+    int numberOfVariables;
+    // quantos cubos da cobertura atual cobrem cada mintermo
+    int[] counters;
+    // cubos da cobertura, com a mascara nos 32 bits mais significativos e o
+    // valor nos outros
+    long[] cubes;
+    int numberOfCubes;
+
+    private EspressoMinimizer(TruthTable truthTable, int numberOfVariables)
+    {
+        this.onSet = truthTable.bits;
+        this.numberOfVariables = numberOfVariables;
+        this.counters = new int[1 << numberOfVariables];
+        this.cubes = new long[ Bits.cardinality(onSet) ];
+        this.numberOfCubes = 0;
+
+        // a cobertura inicial e' a dos mintermos
+        for (int minterm = Bits.nextSetBit(onSet, 0); minterm != -1; minterm = Bits.nextSetBit(onSet, minterm + 1))
+        {
+            cubes[ numberOfCubes++ ] = minterm;
+        }
+    }
+
+    /**
+     * Repete REDUCE, EXPAND e IRREDUNDANT enquanto a cobertura diminuir.
+     *
+     * @return Melhor cobertura encontrada.
+     */
+
+    private long[] minimize()
+    {
+        expand();
+        irredundant();
+
+        long[] bestCubes = Arrays.copyOf(cubes, numberOfCubes);
+        long bestCost = getCost();
+        long cost = -1;
+
+        while (numberOfCubes > 0 && cost < bestCost)
+        {
+            if (cost != -1)
+            {
+                bestCubes = Arrays.copyOf(cubes, numberOfCubes);
+                bestCost = cost;
+            }
+
+            reduce();
+            expand();
+            irredundant();
+            cost = getCost();
+        }
+
+        return bestCubes;
+    }
+
+    /**
+     * @return Custo da cobertura: primeiro a quantidade de cubos e depois a
+     * de literais.
+     */
+
+    private long getCost()
+    {
+        long literals = 0;
+
+        for (int i = 0; i < numberOfCubes; i++)
+        {
+            literals += numberOfVariables - Long.bitCount(cubes[i] >>> 32);
+        }
+
+        return ( (long) numberOfCubes << 32 ) | literals;
+    }
+
+    private static long getValue(long cube)
+    {
+        return cube & 0xFFFFFFFFL;
+    }
+
+    private static long getDashMask(long cube)
+    {
+        return cube >>> 32;
+    }
+
+    /**
+     * Soma {@code increment} ao contador de cada mintermo do cubo.
+     */
+
+    private void count(long cubeValue, long cubeDashMask, int increment)
+    {
+        long submask = 0;
+
+        do
+        {
+            counters[ (int) ( cubeValue | submask ) ] += increment;
+            submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+        } while (submask != 0);
+    }
+
+    /**
+     * Conta os mintermos do cubo que ainda nao sao cobertos pela cobertura.
+     *
+     * @return Quantidade de mintermos descobertos ou -1 caso algum mintermo do
+     * cubo nao esteja na funcao.
+     */
+
+    private int getNumberOfUncoveredMinterms(long cubeValue, long cubeDashMask)
+    {
+        int uncoveredMinterms = 0;
+        long submask = 0;
+
+        do
+        {
+            int minterm = (int) ( cubeValue | submask );
+
+            if (!Bits.get(onSet, minterm)) uncoveredMinterms = -1;
+            else if (counters[minterm] == 0) uncoveredMinterms++;
+
+            submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+        } while (uncoveredMinterms != -1 && submask != 0);
+
+        return uncoveredMinterms;
+    }
+
+    /**
+     * Ordena os cubos pela quantidade de variaveis eliminadas, crescente ou
+     * decrescente.
+     */
+
+    private void sortCubesBySize(boolean largestFirst)
+    {
+        long[] keys = new long[numberOfCubes];
+
+        for (int i = 0; i < numberOfCubes; i++)
+        {
+            int dashes = Long.bitCount( getDashMask(cubes[i]) );
+
+            // cubos de mesmo tamanho mantem a ordem anterior
+            keys[i] = ( (long) ( largestFirst ? numberOfVariables - dashes : dashes ) << 58 ) | i;
+        }
+
+        Arrays.sort(keys);
+
+        long[] sortedCubes = new long[numberOfCubes];
+
+        for (int i = 0; i < numberOfCubes; i++)
+        {
+            sortedCubes[i] = cubes[ (int) ( keys[i] & 0xFFFFFFFFL ) ];
+        }
+
+        System.arraycopy(sortedCubes, 0, cubes, 0, numberOfCubes);
+    }
+
+    /**
+     * Aumenta cada cubo, dos maiores para os menores, ate' ele virar um primo
+     * implicante e descarta os cubos ja' cobertos pelos anteriores.
+     */
+
+    private void expand()
+    {
+        int expandedCubes = 0;
+
+        Arrays.fill(counters, 0);
+        sortCubesBySize(true);
+
+        for (int i = 0; i < numberOfCubes; i++)
+        {
+            long cubeValue = getValue(cubes[i]);
+            long cubeDashMask = getDashMask(cubes[i]);
+
+            if (getNumberOfUncoveredMinterms(cubeValue, cubeDashMask) > 0)
+            {
+                int bestVariable;
+
+                do
+                {
+                    int mostUncoveredMinterms = -1;
+
+                    bestVariable = -1;
+
+                    for (int variable = 0; variable < numberOfVariables; variable++)
+                    {
+                        long variableBit = 1L << variable;
+
+                        if (( cubeDashMask & variableBit ) == 0)
+                        {
+                            // a outra metade do cubo aumentado
+                            int uncoveredMinterms = getNumberOfUncoveredMinterms(cubeValue ^ variableBit, cubeDashMask);
+
+                            if (uncoveredMinterms > mostUncoveredMinterms)
+                            {
+                                mostUncoveredMinterms = uncoveredMinterms;
+                                bestVariable = variable;
+                            }
+                        }
+                    }
+
+                    if (bestVariable != -1)
+                    {
+                        cubeValue &= ~( 1L << bestVariable );
+                        cubeDashMask |= 1L << bestVariable;
+                    }
+
+                } while (bestVariable != -1);
+
+                count(cubeValue, cubeDashMask, 1);
+                cubes[ expandedCubes++ ] = ( cubeDashMask << 32 ) | cubeValue;
+            }
+        }
+
+        numberOfCubes = expandedCubes;
+    }
+
+    /**
+     * Retira, dos menores para os maiores, os cubos em que todos os
+     * mintermos sao cobertos por pelo menos mais um cubo.
+     */
+
+    private void irredundant()
+    {
+        int remainingCubes = 0;
+
+        sortCubesBySize(false);
+
+        for (int i = 0; i < numberOfCubes; i++)
+        {
+            long cubeValue = getValue(cubes[i]);
+            long cubeDashMask = getDashMask(cubes[i]);
+            boolean isRedundant = true;
+            long submask = 0;
+
+            do
+            {
+                isRedundant = ( counters[ (int) ( cubeValue | submask ) ] > 1 );
+                submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+            } while (isRedundant && submask != 0);
+
+            if (isRedundant) count(cubeValue, cubeDashMask, -1);
+            else cubes[ remainingCubes++ ] = cubes[i];
+        }
+
+        numberOfCubes = remainingCubes;
+    }
+
+    /**
+     * Troca cada cubo, dos maiores para os menores, pelo menor cubo que
+     * contem os mintermos cobertos apenas por ele.
+     */
+
+    private void reduce()
+    {
+        int remainingCubes = 0;
+
+        sortCubesBySize(true);
+
+        for (int i = 0; i < numberOfCubes; i++)
+        {
+            long cubeValue = getValue(cubes[i]);
+            long cubeDashMask = getDashMask(cubes[i]);
+            // E e OU dos mintermos cobertos apenas pelo cubo
+            long and = -1;
+            long or = 0;
+            boolean hasOwnMinterms = false;
+            long submask = 0;
+
+            do
+            {
+                long minterm = cubeValue | submask;
+
+                if (counters[ (int) minterm ] == 1)
+                {
+                    and &= minterm;
+                    or |= minterm;
+                    hasOwnMinterms = true;
+                }
+
+                submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+            } while (submask != 0);
+
+            count(cubeValue, cubeDashMask, -1);
+
+            // sem mintermos proprios o cubo e' redundante
+            if (hasOwnMinterms)
+            {
+                count(and, and ^ or, 1);
+                cubes[ remainingCubes++ ] = ( ( and ^ or ) << 32 ) | and;
+            }
+        }
+
+        numberOfCubes = remainingCubes;
+    }
+}
@@ -0,0 +1,113 @@
+package Structures;
+
+import java.util.concurrent.RecursiveAction;
+import Util.Logic;
+
+/**
+ * Agrupa as linhas de um intervalo de indices de uma {@code MintermTable}
+ * com os seus vizinhos a distancia hamming de 1, como o modo
+ * {@code GroupingMode.NEIGHBOR_LOOKUP} do metodo groupMinterms, mas guardando
+ * os cubos gerados num buffer proprio, no mesmo modo de armazenamento da
+ * tabela. Assim, varias tarefas podem agrupar
+ * partes diferentes do mesmo nivel ao mesmo tempo num {@code ForkJoinPool}
+ * e, concatenando os buffers na ordem dos intervalos, o resultado e' o mesmo
+ * do agrupamento sequencial.
+ *
+ * <p>Os cubos e os indices da tabela sao apenas lidos. O arranjo de linhas
+ * usadas da tabela e' compartilhado: as tarefas so' escrevem {@code true} nele, entao a
+ * ordem das escritas nao importa, e elas ficam visiveis para quem esperar o
+ * termino das tarefas.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class GroupingTask extends RecursiveAction
+{
+    private static final long serialVersionUID = 1L;
+
+    CubeStorage tableCubes;
+    int numberOfVariables;
+    // tabela agrupada, usada para procurar os vizinhos
+    MintermTable mintermTable;
+    // usedMinterms[i] indica se a linha i participou de algum agrupamento
+    boolean[] usedMinterms;
+    // intervalo [firstLine, lastLine) de linhas agrupadas por esta tarefa
+    int firstLine;
+    int lastLine;
+    // cubos gerados, na mesma ordem em que o agrupamento sequencial os geraria
+    CubeStorage cubes;
+    int numberOfCubes;
+
+    GroupingTask(MintermTable mintermTable, int firstLine, int lastLine)
+    {
+        this.tableCubes = mintermTable.cubes;
+        this.numberOfVariables = mintermTable.numberOfVariables;
+        this.mintermTable = mintermTable;
+        this.usedMinterms = mintermTable.usedLines;
+        this.firstLine = firstLine;
+        this.lastLine = lastLine;
+        this.cubes = CubeStorage.create(Math.max(1, lastLine - firstLine), mintermTable.getStorageMode());
+        this.numberOfCubes = 0;
+    }
+
+    /**
+     * Obtem uma estimativa, em bytes, da memoria ocupada pelos buffers.
+     *
+     * @return Estimativa da memoria ocupada pelos buffers da tarefa.
+     */
+
+    long getFootprint()
+    {
+        return cubes.getFootprint();
+    }
+
+    private void addCube(long cubeValue, long cubeDashMask)
+    {
+        if (numberOfCubes == cubes.getCapacity())
+        {
+            cubes.grow( Math.max(1, cubes.getCapacity() * 2) );
+        }
+
+        cubes.setCube(numberOfCubes++, cubeValue, cubeDashMask);
+    }
+
+    @Override
+    protected void compute()
+    {
+        int[] partners = new int[numberOfVariables];
+        int numberOfPartners;
+        long cubeValue1;
+        long cubeDashMask1;
+        long cubeValue2;
+        long cubeDashMask2;
+        int j;
+
+        for (int i = firstLine; i < lastLine; i++)
+        {
+            cubeValue1 = tableCubes.getCubeValue(i);
+            cubeDashMask1 = tableCubes.getCubeDashMask(i);
+            numberOfPartners = MintermTable.getNeighborsAfter(i, cubeValue1, cubeDashMask1,
+                    numberOfVariables, mintermTable, partners);
+
+            if (numberOfPartners > 0)
+            {
+                usedMinterms[i] = true;
+            }
+
+            for (int p = 0; p < numberOfPartners; p++)
+            {
+                j = partners[p];
+                cubeValue2 = tableCubes.getCubeValue(j);
+                cubeDashMask2 = tableCubes.getCubeDashMask(j);
+                usedMinterms[j] = true;
+
+                addCube(
+                        Logic.removeBitOfHammingDistance1FromValue(
+                                cubeValue1, cubeDashMask1, cubeValue2, cubeDashMask2),
+                        Logic.removeBitOfHammingDistance1FromDashMask(
+                                cubeValue1, cubeDashMask1, cubeValue2, cubeDashMask2)
+                );
+            }
+        }
+    }
+}
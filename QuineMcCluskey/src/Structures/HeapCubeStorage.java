@@ -0,0 +1,74 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Guarda os cubos em dois arranjos de {@code long} no heap, um com os bits
+ * de valor e outro com as mascaras.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class HeapCubeStorage extends CubeStorage
+{
+    long[] cubeValues;
+    long[] cubeDashMasks;
+
+    HeapCubeStorage(int capacity)
+    {
+        this.cubeValues = new long[capacity];
+        this.cubeDashMasks = new long[capacity];
+    }
+
+    @Override
+    MintermTable.StorageMode getStorageMode()
+    {
+        return MintermTable.StorageMode.HEAP;
+    }
+
+    @Override
+    int getCapacity()
+    {
+        return cubeValues.length;
+    }
+
+    @Override
+    long getCubeValue(int index)
+    {
+        return cubeValues[index];
+    }
+
+    @Override
+    long getCubeDashMask(int index)
+    {
+        return cubeDashMasks[index];
+    }
+
+    @Override
+    void setCube(int index, long cubeValue, long cubeDashMask)
+    {
+        cubeValues[index] = cubeValue;
+        cubeDashMasks[index] = cubeDashMask;
+    }
+
+    @Override
+    void grow(int newCapacity)
+    {
+        cubeValues = Arrays.copyOf(cubeValues, newCapacity);
+        cubeDashMasks = Arrays.copyOf(cubeDashMasks, newCapacity);
+    }
+
+    @Override
+    void release()
+    {
+        cubeValues = new long[0];
+        cubeDashMasks = new long[0];
+    }
+
+    @Override
+    long getFootprint(int capacity)
+    {
+        // dois arranjos de long com cabecalho de 16 bytes cada
+        return 2 * ( 16 + 8L * capacity );
+    }
+}
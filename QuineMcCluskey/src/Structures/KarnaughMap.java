@@ -18,7 +18,7 @@ public class KarnaughMap
     {
         if (mintermTable != null && mintermTable.numberOfLines > 0)
         {
-            int numberOfVariables = mintermTable.table[0].mintermAsBinary.length;
+            int numberOfVariables = mintermTable.numberOfVariables;
 
             if (variablesNames != null && numberOfVariables == variablesNames.length)
             {
@@ -0,0 +1,64 @@
+package Structures;
+
+import java.nio.LongBuffer;
+
+/**
+ * Guarda os cubos num arquivo temporario mapeado na memoria, com o mesmo
+ * formato do {@code DirectCubeStorage}. Usado quando um nivel da tabela nao
+ * cabe no orcamento de memoria: o custo passa a ser de leitura e escrita em
+ * disco em vez de faltar memoria.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class MappedCubeStorage extends DirectCubeStorage
+{
+    MappedLongFile file;
+
+    MappedCubeStorage(int capacity)
+    {
+        this( new MappedLongFile(2L * capacity), capacity );
+    }
+
+    private MappedCubeStorage(MappedLongFile file, int capacity)
+    {
+        super(file.longs, capacity);
+        this.file = file;
+    }
+
+    @Override
+    MintermTable.StorageMode getStorageMode()
+    {
+        return MintermTable.StorageMode.MAPPED_FILE;
+    }
+
+    @Override
+    void grow(int newCapacity)
+    {
+        if (file == null)
+        {
+            file = new MappedLongFile(2L * newCapacity);
+        }
+
+        else
+        {
+            file.grow(2L * newCapacity);
+        }
+
+        cubes = file.longs;
+        capacity = newCapacity;
+    }
+
+    @Override
+    void release()
+    {
+        if (file != null)
+        {
+            file.close();
+            file = null;
+        }
+
+        cubes = LongBuffer.allocate(0);
+        capacity = 0;
+    }
+}
@@ -0,0 +1,133 @@
+package Structures;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import Util.Buffers;
+
+/**
+ * Arranjo de {@code long} guardado num arquivo temporario mapeado na memoria.
+ * O sistema operacional carrega e descarrega as paginas do arquivo conforme a
+ * necessidade, entao o arranjo pode ser maior que a memoria disponivel.
+ *
+ * <p>Um mapeamento tem no maximo 2 GB, ou seja, {@code MAX_CAPACITY}
+ * {@code long}, cerca de 268 milhoes. Pedir mais que isso lanca
+ * {@code IllegalArgumentException}.</p>
+ *
+ * <p>O arquivo e' apagado pelo metodo close, que desfaz o mapeamento antes,
+ * pois alguns sistemas, como o Windows, nao apagam um arquivo mapeado. Pelo
+ * mesmo motivo, o metodo grow desfaz o mapeamento anterior antes de mapear o
+ * trecho maior.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class MappedLongFile
+{
+    // um mapeamento tem no maximo Integer.MAX_VALUE bytes
+    static final int MAX_CAPACITY = Integer.MAX_VALUE / 8;
+
+    File file;
+    FileChannel channel;
+    MappedByteBuffer bytes;
+    LongBuffer longs;
+    int capacity;
+
+    MappedLongFile(long capacity)
+    {
+        checkCapacity(capacity);
+
+        try
+        {
+            this.file = File.createTempFile("QuineMcCluskey", ".bin");
+            this.channel = new RandomAccessFile(file, "rw").getChannel();
+        }
+
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException("Nao foi possivel criar o arquivo temporario", ex);
+        }
+
+        grow(capacity);
+    }
+
+    /**
+     * Mapeia um trecho maior do arquivo. Os valores ja' guardados continuam
+     * no arquivo, entao nao e' preciso copia'-los. O mapeamento anterior e'
+     * desfeito, entao os buffers obtidos antes da chamada nao devem mais ser
+     * usados.
+     *
+     * @param newCapacity nova quantidade de {@code long} do arranjo
+     */
+
+    void grow(long newCapacity)
+    {
+        checkCapacity(newCapacity);
+
+        Buffers.free(bytes);
+        bytes = null;
+        longs = null;
+
+        try
+        {
+            bytes = channel.map(FileChannel.MapMode.READ_WRITE, 0, 8L * newCapacity);
+            longs = bytes.order( ByteOrder.nativeOrder() ).asLongBuffer();
+            capacity = (int) newCapacity;
+        }
+
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException("Nao foi possivel mapear o arquivo " + file, ex);
+        }
+    }
+
+    private static void checkCapacity(long capacity)
+    {
+        if (capacity > MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException("Um arquivo mapeado guarda no maximo " + MAX_CAPACITY +
+                    " long, mas foram pedidos " + capacity);
+        }
+    }
+
+    long get(int index)
+    {
+        return longs.get(index);
+    }
+
+    void put(int index, long value)
+    {
+        longs.put(index, value);
+    }
+
+    /**
+     * Fecha e apaga o arquivo. O arranjo, e qualquer buffer obtido dele,
+     * nao deve mais ser usado, pois a memoria do mapeamento e' devolvida ao
+     * sistema na hora. Se o sistema nao deixar apagar o arquivo agora, ele e'
+     * apagado quando a maquina virtual terminar.
+     */
+
+    void close()
+    {
+        try
+        {
+            channel.close();
+        }
+
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException("Nao foi possivel fechar o arquivo " + file, ex);
+        }
+
+        Buffers.free(bytes);
+        bytes = null;
+        longs = null;
+        capacity = 0;
+
+        if (!file.delete()) file.deleteOnExit();
+    }}
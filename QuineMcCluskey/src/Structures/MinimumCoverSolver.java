@@ -0,0 +1,409 @@
+package Structures;
+
+import java.util.concurrent.RecursiveTask;
+import Util.Bits;
+
+/**
+ * Encontra a menor quantidade de linhas de um mapa de cobertura que cobrem
+ * todas as colunas desejadas usando busca com poda (branch and bound):
+ *
+ * <ul>
+ *  <li>a cada passo escolhe a coluna nao coberta com menos linhas
+ *  disponiveis e tenta cada uma dessas linhas;</li>
+ *  <li>depois de tentar uma linha, ela deixa de estar disponivel para as
+ *  proximas tentativas do mesmo passo, pois todas as solucoes com ela ja'
+ *  foram exploradas;</li>
+ *  <li>um limite inferior e' obtido contando colunas independentes (que nao
+ *  compartilham nenhuma linha disponivel), pois cada uma exige uma linha
+ *  diferente. Quando as linhas escolhidas mais esse limite nao forem menores
+ *  que a melhor solucao encontrada ate' o momento, o ramo e' descartado.</li>
+ * </ul>
+ *
+ * <p>A busca comeca com a solucao gulosa (sempre a linha que cobre mais
+ * colunas) como melhor solucao.</p>
+ *
+ * <p>Alguns nucleos ciclicos com centenas de linhas levam minutos ou horas
+ * para serem resolvidos, entao a busca visita no maximo {@code MAX_NODES}
+ * nos. Se esse limite for atingido, a busca para com a melhor solucao
+ * encontrada ate' ali, que nunca e' pior que a gulosa, e o metodo isMinimum
+ * passa a retornar {@code false}.</p>
+ *
+ * <p>Como tarefa de um {@code ForkJoinPool}, varios subproblemas
+ * independentes podem ser resolvidos ao mesmo tempo.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class MinimumCoverSolver extends RecursiveTask<int[]>
+{
+    private static final long serialVersionUID = 1L;
+
+    // quantidade de nos que a busca visita antes de desistir de provar que a
+    // melhor solucao encontrada e' a menor
+    static final long MAX_NODES = 1L << 22;
+
+    // linhas do mapa que podem ser escolhidas, na numeracao original
+    int[] candidateLines;
+    // para cada linha candidata, as colunas do subproblema que ela cobre
+    long[][] linesBits;
+    // para cada coluna do subproblema, as linhas candidatas que a cobrem
+    long[][] columnsBits;
+    // colunas do subproblema em ordem crescente de quantidade de linhas
+    int[] columnsByDegree;
+    // linhas que nao podem ser escolhidas no ramo atual da busca
+    long[] excludedLines;
+    // colunas nao cobertas em cada profundidade da busca
+    long[][] uncoveredColumnsByDepth;
+    int[] currentChoice;
+    int[] bestChoice;
+    int sizeOfBestChoice;
+    long numberOfNodes;
+    // false se a busca parou no limite de nos antes de terminar
+    boolean isMinimum;
+
+    /**
+     * Monta o subproblema formado pelas linhas candidatas e pelas colunas que
+     * precisam ser cobertas.
+     *
+     * @param linesOfTheMap para cada linha do mapa, as colunas que ela cobre
+     * @param candidateLines indices das linhas do mapa que podem ser escolhidas
+     * @param columnsToCover colunas do mapa que precisam ser cobertas
+     */
+
+    MinimumCoverSolver(long[][] linesOfTheMap, int[] candidateLines, long[] columnsToCover)
+    {
+        int numberOfLines = candidateLines.length;
+        int numberOfColumns = Bits.cardinality(columnsToCover);
+        int[] columnOfTheMap = new int[numberOfColumns];
+        int columnsCounter = 0;
+
+        for (int j = Bits.nextSetBit(columnsToCover, 0); j != -1; j = Bits.nextSetBit(columnsToCover, j + 1))
+        {
+            columnOfTheMap[ columnsCounter++ ] = j;
+        }
+
+        this.candidateLines = candidateLines;
+        this.linesBits = new long[numberOfLines][];
+        this.columnsBits = new long[numberOfColumns][];
+
+        for (int j = 0; j < numberOfColumns; j++)
+        {
+            columnsBits[j] = Bits.create(numberOfLines);
+        }
+
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            linesBits[i] = Bits.create(numberOfColumns);
+
+            for (int j = 0; j < numberOfColumns; j++)
+            {
+                if (Bits.get(linesOfTheMap[ candidateLines[i] ], columnOfTheMap[j]))
+                {
+                    Bits.set(linesBits[i], j);
+                    Bits.set(columnsBits[j], i);
+                }
+            }
+        }
+
+        this.columnsByDegree = getColumnsByDegree();
+        this.excludedLines = Bits.create(numberOfLines);
+        this.uncoveredColumnsByDepth = new long[numberOfLines + 1][];
+        this.currentChoice = new int[numberOfLines];
+        this.bestChoice = new int[numberOfLines];
+        this.sizeOfBestChoice = Integer.MAX_VALUE;
+        this.numberOfNodes = 0;
+        this.isMinimum = true;
+    }
+
+    @Override
+    protected int[] compute()
+    {
+        return solve();
+    }
+
+    /**
+     * @return {@code true} se a cobertura retornada pelo metodo solve e'
+     * garantidamente a menor, ou {@code false} se a busca parou no limite de
+     * {@code MAX_NODES} nos.
+     */
+
+    boolean isMinimum()
+    {
+        return isMinimum;
+    }
+
+    private int[] getColumnsByDegree()
+    {
+        int numberOfColumns = columnsBits.length;
+        int[] columns = new int[numberOfColumns];
+        int[] degrees = new int[numberOfColumns];
+
+        for (int j = 0; j < numberOfColumns; j++)
+        {
+            columns[j] = j;
+            degrees[j] = Bits.cardinality(columnsBits[j]);
+        }
+
+        // insercao: estavel e suficiente para a quantidade de colunas do mapa
+        for (int i = 1; i < numberOfColumns; i++)
+        {
+            int column = columns[i];
+            int j = i - 1;
+
+            while (j > -1 && degrees[ columns[j] ] > degrees[column])
+            {
+                columns[j + 1] = columns[j];
+                j--;
+            }
+
+            columns[j + 1] = column;
+        }
+
+        return columns;
+    }
+
+    /**
+     * Resolve o subproblema.
+     *
+     * @return Indices, na numeracao original do mapa, das linhas que formam
+     * a menor cobertura encontrada, ou um arranjo vazio se nao houver colunas
+     * a cobrir ou se elas nao puderem ser cobertas.
+     */
+
+    int[] solve()
+    {
+        int numberOfColumns = columnsBits.length;
+        int[] minimumCover = new int[0];
+
+        if (numberOfColumns > 0)
+        {
+            findGreedyCover();
+            uncoveredColumnsByDepth[0] = Bits.createFull(numberOfColumns);
+            search(0);
+
+            if (sizeOfBestChoice != Integer.MAX_VALUE)
+            {
+                minimumCover = new int[sizeOfBestChoice];
+
+                for (int i = 0; i < sizeOfBestChoice; i++)
+                {
+                    minimumCover[i] = candidateLines[ bestChoice[i] ];
+                }
+            }
+        }
+
+        return minimumCover;
+    }
+
+    /**
+     * Escolhe sempre a linha que cobre mais colunas ainda nao cobertas ate'
+     * que todas estejam cobertas. O resultado serve como primeira melhor
+     * solucao da busca.
+     */
+
+    void findGreedyCover()
+    {
+        long[] uncoveredColumns = Bits.createFull(columnsBits.length);
+        int numberOfChoices = 0;
+        int lineWithMoreKills = 0;
+
+        while (lineWithMoreKills != -1 && !Bits.isEmpty(uncoveredColumns))
+        {
+            int greatestNumberOfKills = 0;
+            lineWithMoreKills = -1;
+
+            for (int i = 0; i < linesBits.length; i++)
+            {
+                int lineKills = Bits.cardinalityOfAnd(linesBits[i], uncoveredColumns);
+
+                if (lineKills > greatestNumberOfKills)
+                {
+                    greatestNumberOfKills = lineKills;
+                    lineWithMoreKills = i;
+                }
+            }
+
+            if (lineWithMoreKills != -1)
+            {
+                currentChoice[ numberOfChoices++ ] = lineWithMoreKills;
+                Bits.andNot(uncoveredColumns, linesBits[lineWithMoreKills]);
+            }
+        }
+
+        if (lineWithMoreKills != -1)
+        {
+            System.arraycopy(currentChoice, 0, bestChoice, 0, numberOfChoices);
+            sizeOfBestChoice = numberOfChoices;
+        }
+    }
+
+    /**
+     * Conta colunas nao cobertas que, duas a duas, nao compartilham nenhuma
+     * linha disponivel. Como cada uma delas precisa de uma linha diferente,
+     * a contagem e' um limite inferior para a quantidade de linhas que ainda
+     * precisam ser escolhidas.
+     *
+     * @param uncoveredColumns colunas ainda nao cobertas
+     *
+     * @return Limite inferior de linhas necessarias para cobrir as colunas.
+     */
+
+    int getLowerBound(long[] uncoveredColumns)
+    {
+        long[] linesOfIndependentColumns = Bits.create(linesBits.length);
+        int lowerBound = 0;
+
+        for (int column : columnsByDegree)
+        {
+            if (Bits.get(uncoveredColumns, column) &&
+                    !intersectsAvailableLines(columnsBits[column], linesOfIndependentColumns))
+            {
+                lowerBound++;
+                or(linesOfIndependentColumns, columnsBits[column]);
+            }
+        }
+
+        return lowerBound;
+    }
+
+    private boolean intersectsAvailableLines(long[] lines, long[] otherLines)
+    {
+        boolean intersects = false;
+
+        for (int i = 0; !intersects && i < lines.length; i++)
+        {
+            intersects = ( ( lines[i] & ~excludedLines[i] & otherLines[i] ) != 0 );
+        }
+
+        return intersects;
+    }
+
+    private void or(long[] bits, long[] bitsToSet)
+    {
+        for (int i = 0; i < bits.length; i++)
+        {
+            bits[i] |= bitsToSet[i] & ~excludedLines[i];
+        }
+    }
+
+    /**
+     * Procura a coluna nao coberta com menos linhas disponiveis.
+     *
+     * @param uncoveredColumns colunas ainda nao cobertas
+     *
+     * @return Indice da coluna ou -1 caso alguma coluna nao tenha nenhuma
+     * linha disponivel, o que torna o ramo atual impossivel.
+     */
+
+    private int getMostConstrainedColumn(long[] uncoveredColumns)
+    {
+        int mostConstrainedColumn = -1;
+        int smallestNumberOfLines = Integer.MAX_VALUE;
+
+        for (int j = Bits.nextSetBit(uncoveredColumns, 0);
+                smallestNumberOfLines > 0 && j != -1;
+                j = Bits.nextSetBit(uncoveredColumns, j + 1))
+        {
+            int numberOfLines = 0;
+
+            for (int w = 0; w < excludedLines.length; w++)
+            {
+                numberOfLines += Long.bitCount(columnsBits[j][w] & ~excludedLines[w]);
+            }
+
+            if (numberOfLines < smallestNumberOfLines)
+            {
+                smallestNumberOfLines = numberOfLines;
+                mostConstrainedColumn = j;
+            }
+        }
+
+        return ( smallestNumberOfLines > 0 ? mostConstrainedColumn : -1 );
+    }
+
+    private void search(int depth)
+    {
+        long[] uncoveredColumns = uncoveredColumnsByDepth[depth];
+
+        if (Bits.isEmpty(uncoveredColumns))
+        {
+            if (depth < sizeOfBestChoice)
+            {
+                System.arraycopy(currentChoice, 0, bestChoice, 0, depth);
+                sizeOfBestChoice = depth;
+            }
+        }
+
+        else if (++numberOfNodes > MAX_NODES)
+        {
+            isMinimum = false;
+        }
+
+        else if (depth + getLowerBound(uncoveredColumns) < sizeOfBestChoice)
+        {
+            int column = getMostConstrainedColumn(uncoveredColumns);
+
+            if (column != -1)
+            {
+                long[] linesOfTheColumn = columnsBits[column];
+                long[] linesExcludedHere = Bits.create(linesBits.length);
+                int line;
+
+                if (uncoveredColumnsByDepth[depth + 1] == null)
+                {
+                    uncoveredColumnsByDepth[depth + 1] = Bits.create(columnsBits.length);
+                }
+
+                while (isMinimum && depth + 1 < sizeOfBestChoice &&
+                        ( line = getLineWithMoreKills(linesOfTheColumn, uncoveredColumns) ) != -1)
+                {
+                    long[] nextUncoveredColumns = uncoveredColumnsByDepth[depth + 1];
+
+                    System.arraycopy(uncoveredColumns, 0, nextUncoveredColumns, 0, uncoveredColumns.length);
+                    Bits.andNot(nextUncoveredColumns, linesBits[line]);
+
+                    currentChoice[depth] = line;
+                    search(depth + 1);
+
+                    // todas as solucoes com esta linha ja' foram exploradas
+                    Bits.set(excludedLines, line);
+                    Bits.set(linesExcludedHere, line);
+                }
+
+                Bits.andNot(excludedLines, linesExcludedHere);
+            }
+        }
+    }
+
+    /**
+     * Entre as linhas disponiveis que cobrem a coluna, procura a que cobre
+     * mais colunas ainda nao cobertas, para que boas solucoes aparecam cedo.
+     *
+     * @param linesOfTheColumn linhas que cobrem a coluna
+     * @param uncoveredColumns colunas ainda nao cobertas
+     *
+     * @return Indice da linha ou -1 caso nao haja linhas disponiveis.
+     */
+
+    private int getLineWithMoreKills(long[] linesOfTheColumn, long[] uncoveredColumns)
+    {
+        int lineWithMoreKills = -1;
+        int greatestNumberOfKills = -1;
+
+        for (int i = Bits.nextSetBit(linesOfTheColumn, 0); i != -1; i = Bits.nextSetBit(linesOfTheColumn, i + 1))
+        {
+            if (!Bits.get(excludedLines, i))
+            {
+                int lineKills = Bits.cardinalityOfAnd(linesBits[i], uncoveredColumns);
+
+                if (lineKills > greatestNumberOfKills)
+                {
+                    greatestNumberOfKills = lineKills;
+                    lineWithMoreKills = i;
+                }
+            }
+        }
+
+        return lineWithMoreKills;
+    }
+}
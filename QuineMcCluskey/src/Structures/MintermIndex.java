@@ -0,0 +1,143 @@
+package Structures;
+
+/**
+ * Indice invertido de uma {@code MintermTable}: para cada mintermo, as linhas
+ * (implicantes) que o cobrem. E' guardado no formato CSR, em arranjos de
+ * primitivos: as entradas do mintermo m ficam nas posicoes de
+ * {@code firstEntry[m]} ate' {@code firstEntry[m + 1] - 1} dos arranjos
+ * {@code entryLines} e {@code entryColumns}.
+ *
+ * <p>Como os mintermos sao indices da tabela verdade, o arranjo
+ * {@code firstEntry} e' enderecado diretamente pelo mintermo, ate' o maior
+ * mintermo da tabela. Montar o indice custa uma passada pelos mintermos de
+ * cada linha e cada consulta custa O(quantidade de linhas que cobrem o
+ * mintermo).</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class MintermIndex
+{
+    int[] firstEntry;
+    // linha de cada entrada, em ordem crescente dentro de cada mintermo
+    int[] entryLines;
+    // indice do mintermo no arranjo retornado por TableLine.getMintermsAsDecimal
+    // para a linha da entrada
+    int[] entryColumns;
+    // mintermos cobertos por alguma linha, em ordem crescente
+    int[] minterms;
+
+    MintermIndex(MintermTable mintermTable)
+    {
+        int numberOfLines = mintermTable.numberOfLines;
+        int numberOfPossibleMinterms = 0;
+        int numberOfMinterms = 0;
+        long cubeValue;
+        long cubeDashMask;
+        long submask;
+
+        // o maior mintermo de cada cubo tem todas as variaveis eliminadas
+        // ligadas. Nao se usa 2 ^ numberOfVariables porque uma tabela verdade
+        // com tamanho que nao e' potencia de 2 tem mintermos alem disso
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            numberOfPossibleMinterms = Math.max(numberOfPossibleMinterms,
+                    (int) ( mintermTable.getCubeValue(i) | mintermTable.getCubeDashMask(i) ) + 1);
+        }
+
+        firstEntry = new int[numberOfPossibleMinterms + 1];
+
+        // 1. conta as linhas de cada mintermo na posicao seguinte a dele
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            cubeValue = mintermTable.getCubeValue(i);
+            cubeDashMask = mintermTable.getCubeDashMask(i);
+            submask = 0;
+
+            do
+            {
+                firstEntry[ (int) ( cubeValue | submask ) + 1 ]++;
+                submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+            } while (submask != 0);
+        }
+
+        // 2. transforma as contagens em posicoes iniciais
+        for (int m = 0; m < numberOfPossibleMinterms; m++)
+        {
+            if (firstEntry[m + 1] > 0) numberOfMinterms++;
+
+            firstEntry[m + 1] += firstEntry[m];
+        }
+
+        entryLines = new int[ firstEntry[numberOfPossibleMinterms] ];
+        entryColumns = new int[ entryLines.length ];
+        minterms = new int[numberOfMinterms];
+
+        int[] nextEntry = new int[numberOfPossibleMinterms];
+        int mintermsCounter = 0;
+
+        for (int m = 0; m < numberOfPossibleMinterms; m++)
+        {
+            nextEntry[m] = firstEntry[m];
+
+            if (firstEntry[m + 1] > firstEntry[m]) minterms[ mintermsCounter++ ] = m;
+        }
+
+        // 3. preenche as entradas. As linhas sao percorridas em ordem, entao
+        // ficam em ordem crescente dentro de cada mintermo
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            cubeValue = mintermTable.getCubeValue(i);
+            cubeDashMask = mintermTable.getCubeDashMask(i);
+            submask = 0;
+            int column = 0;
+
+            do
+            {
+                int entry = nextEntry[ (int) ( cubeValue | submask ) ]++;
+
+                entryLines[entry] = i;
+                entryColumns[entry] = column++;
+                submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+            } while (submask != 0);
+        }
+    }
+
+    /**
+     * Conta quantas linhas cobrem o mintermo, sem percorrer a tabela.
+     *
+     * @param minterm mintermo a ser procurado
+     *
+     * @return Quantidade de linhas que cobrem o mintermo.
+     */
+
+    int getNumberOfLinesOf(int minterm)
+    {
+        return ( minterm >= 0 && minterm < firstEntry.length - 1 ?
+                firstEntry[minterm + 1] - firstEntry[minterm] : 0 );
+    }
+
+    /**
+     * Obtem os pares (linha, coluna) onde o mintermo aparece, no formato do
+     * metodo MintermTable.indexesOf.
+     *
+     * @param minterm mintermo a ser procurado
+     *
+     * @return Matriz com uma linha para cada implicante que cobre o mintermo.
+     */
+
+    int[][] indexesOf(int minterm)
+    {
+        int[][] indexes = new int[ getNumberOfLinesOf(minterm) ][2];
+
+        for (int k = 0; k < indexes.length; k++)
+        {
+            indexes[k][0] = entryLines[ firstEntry[minterm] + k ];
+            indexes[k][1] = entryColumns[ firstEntry[minterm] + k ];
+        }
+
+        return indexes;
+    }
+}
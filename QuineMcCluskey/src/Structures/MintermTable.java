@@ -1,28 +1,139 @@
 package Structures;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import Util.*;
 
 /**
+ * Tabela de mintermos guardada em colunas: cada linha e' um cubo compacto
+ * guardado num {@code CubeStorage}, sem nenhum objeto por linha. Objetos
+ * {@code TableLine} so' sao criados quando alguem pede uma linha pelo metodo
+ * getLine.
+ * 
+ * <p>Os cubos podem ficar no heap, fora dele ou num arquivo mapeado, conforme
+ * o {@code StorageMode} da tabela. Os niveis gerados pelo metodo groupMinterms
+ * usam o mesmo modo da tabela de mintermos, exceto quando um nivel nao cabe
+ * no orcamento de memoria: nesse caso os cubos dele sao movidos para um
+ * arquivo mapeado.</p>
+ * 
+ * <p>Os arranjos sao reaproveitados entre os niveis do agrupamento: o metodo
+ * groupMinterms monta o novo nivel nos arranjos da tabela de dois niveis
+ * atras, de modo que, com duas tabelas, o agrupamento inteiro roda sem alocar
+ * nada por linha.</p>
+ * 
  * @author Axell Brendow ( https://github.com/axell-brendow )
  */
 
 public class MintermTable
 {
-    TableLine[] table;
+    // a linha i e' o cubo de indice i
+    CubeStorage cubes;
+    // usedLines[i] indica se a linha i participou de algum agrupamento do
+    // nivel seguinte. E' preenchido pelo metodo groupMinterms
+    boolean[] usedLines;
     int numberOfLines;
+    int numberOfVariables;
     boolean isPossibleToSimplify;
-
-    private MintermTable(TableLine[] table)
+    // indice de todas as linhas por cubo, mantido pelo metodo addLine. Fica
+    // null quando os cubos estao num arquivo mapeado
+    CubeIndex cubeIndex;
+    // indice em disco usado no lugar do cubeIndex quando os cubos estao num
+    // arquivo mapeado. E' montado pelo metodo indexLinesOnDisk
+    SortedCubeRun sortedCubes;
+    // indice invertido mintermo -> linhas, montado pelo metodo getMintermIndex
+    // na primeira consulta e descartado sempre que as linhas mudam
+    MintermIndex mintermIndex;
+    // tabela do nivel anterior, cujos arranjos serao reaproveitados pelo
+    // nivel seguinte a este
+    MintermTable previousLevel;
+    // estimativa, em bytes, da memoria ocupada pelos cubos, pelo arranjo de
+    // linhas usadas e pelo indice
+    long footprint;
+    // maior valor atingido por footprint enquanto o nivel era montado
+    long peakFootprint;
+    // quantos bytes este nivel, e os gerados a partir dele, podem ocupar
+    // antes de ir para um arquivo mapeado
+    long memoryBudget;
+    // niveis menores que isso sao agrupados sequencialmente no modo paralelo
+    static final int MIN_LINES_TO_GROUP_IN_PARALLEL = 4096;
+    // menor quantidade de linhas de cada particao do modo paralelo
+    static final int MIN_LINES_PER_PARTITION = 1024;
+    // a partir disso o metodo getMintermsTable guarda os cubos fora do heap
+    static final int MIN_VARIABLES_TO_STORE_OFF_HEAP = 20;
+    // orcamento de memoria das tabelas criadas sem um orcamento explicito
+    static final long DEFAULT_MEMORY_BUDGET = Runtime.getRuntime().maxMemory() / 4;
+    
+    public enum GroupingMode
     {
-        this.table = table;
-        this.numberOfLines = 0;
-        this.isPossibleToSimplify = true;
+        // compara cada linha com todas as linhas abaixo dela
+        ALL_PAIRS,
+        // indexa a tabela por cubo e procura apenas os vizinhos de cada linha
+        NEIGHBOR_LOOKUP,
+        // como NEIGHBOR_LOOKUP, mas divide o nivel em particoes agrupadas ao
+        // mesmo tempo no ForkJoinPool comum
+        PARALLEL_NEIGHBOR_LOOKUP
+    }
+    
+    public enum StorageMode
+    {
+        // cubos em arranjos de long no heap
+        HEAP,
+        // cubos num ByteBuffer direto, fora do heap, para que niveis enormes
+        // nao aumentem o heap nem o trabalho do coletor de lixo
+        OFF_HEAP,
+        // cubos num arquivo temporario mapeado na memoria e indice ordenado
+        // em disco, para niveis que nao cabem no orcamento de memoria
+        MAPPED_FILE
     }
 
     public MintermTable(int tableSize)
     {
-        this( new TableLine[tableSize] );
+        this(tableSize, StorageMode.HEAP);
+    }
+
+    public MintermTable(int tableSize, StorageMode storageMode)
+    {
+        this(tableSize, storageMode, DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Cria uma tabela vazia. Caso uma tabela com {@code tableSize} linhas nao
+     * caiba no orcamento de memoria, o modo {@code StorageMode.MAPPED_FILE} e'
+     * usado no lugar do modo recebido.
+     * 
+     * <p>Um nivel que passar do orcamento enquanto e' montado tem os cubos
+     * movidos para um arquivo temporario mapeado na memoria, trocando memoria
+     * por leitura e escrita em disco. Os niveis gerados a partir desta tabela
+     * pelo metodo groupMinterms usam o mesmo orcamento. O padrao e' um quarto
+     * do heap maximo da JVM.</p>
+     * 
+     * @param tableSize quantidade de linhas esperada
+     * @param storageMode onde os cubos serao guardados
+     * @param memoryBudget quantos bytes cada nivel pode ocupar na memoria
+     */
+
+    public MintermTable(int tableSize, StorageMode storageMode, long memoryBudget)
+    {
+        int capacity = Math.max(1, tableSize);
+        
+        if (storageMode != StorageMode.MAPPED_FILE && getFootprintEstimate(capacity, storageMode) > memoryBudget)
+        {
+            storageMode = StorageMode.MAPPED_FILE;
+        }
+        
+        this.cubes = CubeStorage.create(capacity, storageMode);
+        this.usedLines = new boolean[capacity];
+        this.numberOfLines = 0;
+        this.numberOfVariables = 0;
+        this.isPossibleToSimplify = true;
+        this.cubeIndex = ( storageMode != StorageMode.MAPPED_FILE ? new CubeIndex(cubes, capacity) : null );
+        this.sortedCubes = null;
+        this.mintermIndex = null;
+        this.previousLevel = null;
+        this.footprint = getFootprintOf(capacity);
+        this.peakFootprint = footprint;
+        this.memoryBudget = memoryBudget;
     }
     
     public boolean isPossibleToSimplify()
@@ -30,6 +141,223 @@ public class MintermTable
         return isPossibleToSimplify;
     }
     
+    public long getMemoryBudget()
+    {
+        return memoryBudget;
+    }
+    
+    public int getNumberOfLines()
+    {
+        return numberOfLines;
+    }
+    
+    public int getNumberOfVariables()
+    {
+        return numberOfVariables;
+    }
+    
+    public StorageMode getStorageMode()
+    {
+        return cubes.getStorageMode();
+    }
+    
+    public long getCubeValue(int line)
+    {
+        return cubes.getCubeValue(line);
+    }
+    
+    public long getCubeDashMask(int line)
+    {
+        return cubes.getCubeDashMask(line);
+    }
+    
+    /**
+     * Cria uma {@code TableLine} com o cubo da linha especificada. A linha
+     * criada e' uma copia: altera'-la nao altera a tabela.
+     * 
+     * @param line indice da linha
+     * 
+     * @return Nova {@code TableLine} com o cubo da linha.
+     */
+    
+    public TableLine getLine(int line)
+    {
+        return new TableLine(cubes.getCubeValue(line), cubes.getCubeDashMask(line), numberOfVariables);
+    }
+    
+    /**
+     * Obtem uma estimativa, em bytes, da memoria ocupada pela tabela,
+     * considerando os cubos, dentro ou fora do heap, o arranjo de linhas
+     * usadas e o indice de cubos.
+     * 
+     * @return Estimativa da memoria ocupada pela tabela.
+     */
+    
+    public long getFootprint()
+    {
+        return footprint;
+    }
+    
+    /**
+     * Obtem uma estimativa, em bytes, do maior uso de memoria que houve
+     * durante a montagem deste nivel da tabela, incluindo as copias
+     * temporarias feitas enquanto os arranjos cresciam e os buffers das
+     * particoes do modo {@code GroupingMode.PARALLEL_NEIGHBOR_LOOKUP}.
+     * 
+     * @return Estimativa do pico de memoria do nivel.
+     */
+    
+    public long getPeakFootprint()
+    {
+        return peakFootprint;
+    }
+    
+    private long getFootprintOf(int capacity)
+    {
+        // cubos + arranjo de boolean com cabecalho de 16 bytes + indice, que
+        // fica em disco no modo MAPPED_FILE
+        return cubes.getFootprint(capacity) + ( ( 16 + capacity + 7 ) & ~7L ) +
+                ( cubeIndex != null ? cubeIndex.getFootprint() : 0 );
+    }
+    
+    private static long getFootprintEstimate(int capacity, StorageMode storageMode)
+    {
+        // 16 bytes de cubo, 1 de linha usada e de 8 a 16 de indice por linha
+        return ( storageMode == StorageMode.MAPPED_FILE ? 1L : 33L ) * capacity;
+    }
+    
+    /**
+     * Procura o cubo na tabela usando o indice em memoria ou, no modo
+     * {@code StorageMode.MAPPED_FILE}, o indice em disco.
+     * 
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     * 
+     * @return Indice da linha do cubo ou -1 caso ele nao exista.
+     */
+    
+    int indexOf(long cubeValue, long cubeDashMask)
+    {
+        return ( cubeIndex != null ?
+                cubeIndex.indexOf(cubeValue, cubeDashMask) :
+                sortedCubes.indexOf(cubeValue, cubeDashMask) );
+    }
+    
+    /**
+     * Quando nao ha' indice em memoria, remove as linhas repetidas, mantendo
+     * a primeira de cada cubo e a ordem das linhas, e monta o
+     * {@code SortedCubeRun} usado para procurar os cubos. Com o indice em
+     * memoria nao faz nada, pois as repeticoes ja' foram evitadas em cada
+     * linha adicionada.
+     */
+    
+    void indexLinesOnDisk()
+    {
+        if (cubeIndex == null && sortedCubes == null)
+        {
+            // cada par (chave, linha) ordenado na memoria usa 24 bytes mais
+            // 24 de buffer; metade do orcamento fica para o resto
+            int recordsPerRun = (int) Math.max(1024, Math.min(1 << 24, memoryBudget / 96));
+            
+            sortedCubes = SortedCubeRun.build(cubes, numberOfLines, recordsPerRun);
+            numberOfLines = sortedCubes.numberOfCubes;
+            mintermIndex = null;
+        }
+    }
+    
+    private void discardSortedCubes()
+    {
+        if (sortedCubes != null)
+        {
+            sortedCubes.release();
+            sortedCubes = null;
+        }
+    }
+    
+    /**
+     * Move os cubos para um arquivo mapeado e descarta o indice em memoria.
+     * A partir dai', as linhas repetidas so' sao removidas pelo metodo
+     * indexLinesOnDisk.
+     */
+    
+    private void spillToDisk()
+    {
+        CubeStorage mappedCubes = CubeStorage.create(cubes.getCapacity(), StorageMode.MAPPED_FILE);
+        
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            mappedCubes.setCube(i, cubes.getCubeValue(i), cubes.getCubeDashMask(i));
+        }
+        
+        cubes.release();
+        cubes = mappedCubes;
+        cubeIndex = null;
+        footprint = getFootprintOf( cubes.getCapacity() );
+    }
+    
+    /**
+     * Solta de uma vez a memoria dos cubos desta tabela e da tabela guardada
+     * para ser reaproveitada pelo proximo nivel. Deve ser chamado quando a
+     * tabela nao for mais usada, por exemplo depois de gerar o mapa de
+     * cobertura, principalmente se os cubos estiverem fora do heap.
+     */
+    
+    public void release()
+    {
+        cubes.release();
+        discardSortedCubes();
+        usedLines = new boolean[0];
+        mintermIndex = null;
+        cubeIndex = ( cubeIndex != null ? new CubeIndex(cubes, 0) : null );
+        numberOfLines = 0;
+        footprint = getFootprintOf(0);
+        
+        if (previousLevel != null)
+        {
+            previousLevel.previousLevel = null;
+            previousLevel.release();
+            previousLevel = null;
+        }
+    }
+    
+    /**
+     * Obtem a tabela onde o proximo nivel sera' montado. Se esta tabela tiver
+     * sido gerada pelo metodo groupMinterms, a tabela do nivel anterior a ela
+     * e' esvaziada e reaproveitada, caso contrario uma nova tabela e' criada.
+     * 
+     * @return Tabela vazia cujo nivel anterior e' esta tabela.
+     */
+    
+    private MintermTable getTableForTheNextLevel()
+    {
+        MintermTable nextLevel = previousLevel;
+        
+        if (nextLevel == null)
+        {
+            nextLevel = new MintermTable(numberOfLines, cubes.getStorageMode(), memoryBudget);
+        }
+        
+        else
+        {
+            nextLevel.numberOfLines = 0;
+            nextLevel.isPossibleToSimplify = true;
+            nextLevel.discardSortedCubes();
+            nextLevel.mintermIndex = null;
+            
+            if (nextLevel.cubeIndex != null)
+            {
+                nextLevel.cubeIndex.clear();
+            }
+            
+            nextLevel.peakFootprint = nextLevel.footprint;
+            previousLevel = null;
+        }
+        
+        nextLevel.previousLevel = this;
+        
+        return nextLevel;
+    }
+    
     /**
      * Percorre a tabela verdade coletando os numeros inteiros equivalentes a cada
      * mintermo.
@@ -97,53 +425,117 @@ public class MintermTable
     {
         int numberOfVariables = MATH.log2( truthTable.length() );
         
+        return getMintermsTable(truthTable,
+                numberOfVariables >= MIN_VARIABLES_TO_STORE_OFF_HEAP ? StorageMode.OFF_HEAP : StorageMode.HEAP);
+    }
+    
+    /**
+     * Versao do metodo getMintermsTable que permite escolher onde os cubos
+     * da tabela, e dos niveis gerados a partir dela, serao guardados.
+     * 
+     * @param truthTable numero binario em forma de string em que cada bit
+     * representa o retorno da funcao logica para o mintermo correspondente.
+     * @param storageMode onde os cubos serao guardados
+     * 
+     * @return {@code MintermTable} em que cada linha tem a representacao decimal
+     * e binaria dos mintermos que fazem a funcao logica retornar 1.
+     */
+    
+    public static MintermTable getMintermsTable(String truthTable, StorageMode storageMode)
+    {
+        return getMintermsTable(truthTable, storageMode, DEFAULT_MEMORY_BUDGET);
+    }
+    
+    /**
+     * Versao do metodo getMintermsTable que tambem permite escolher quantos
+     * bytes cada nivel gerado a partir da tabela pode ocupar na memoria antes
+     * de ir para um arquivo mapeado.
+     * 
+     * @param truthTable numero binario em forma de string em que cada bit
+     * representa o retorno da funcao logica para o mintermo correspondente.
+     * @param storageMode onde os cubos serao guardados
+     * @param memoryBudget quantos bytes cada nivel pode ocupar na memoria
+     * 
+     * @return {@code MintermTable} em que cada linha tem a representacao decimal
+     * e binaria dos mintermos que fazem a funcao logica retornar 1.
+     */
+    
+    public static MintermTable getMintermsTable(String truthTable, StorageMode storageMode, long memoryBudget)
+    {
+        int numberOfVariables = MATH.log2( truthTable.length() );
+        
         int[] minterms = getMintermsAsDecimal(truthTable);
-        MintermTable mintermsTable = new MintermTable(minterms.length);
+        MintermTable mintermsTable = new MintermTable(minterms.length, storageMode, memoryBudget);
         
         for (int i = 0; i < minterms.length; i++)
         {
-            mintermsTable.addLine
-            (
-                new int[] { minterms[i] },
-                MATH.decimalToBinary(minterms[i], numberOfVariables)
-            );
+            mintermsTable.addLine(minterms[i], 0, numberOfVariables);
         }
         
         return mintermsTable;
     }
     
     /**
-     * De acordo com a quantidade de variaveis da funcao logica, descobre qual
-     * e' a maior quantidade de grupos que podem ser formados entre mintermos
-     * com i e i + 1 bits ligados em 1 com i indo de 0 a quantidade de variaveis - 1.
+     * Monta a tabela de primos implicantes gerada por um dos geradores que
+     * nao usam o agrupamento por niveis. As linhas ficam em ordem crescente de
+     * variaveis eliminadas, como nos niveis do agrupamento, e depois pela
+     * mascara e pelo valor dos cubos, entao geradores diferentes produzem a
+     * mesma tabela.
      * 
-     * @param oldMintermTable antiga tabela de mintermos
+     * @param primes primos implicantes, cada um com a mascara de variaveis
+     * eliminadas nos 32 bits mais significativos e o valor nos outros. O
+     * arranjo e' ordenado por este metodo
+     * @param numberOfVariables quantidade de variaveis da funcao logica
+     * @param storageMode onde os cubos serao guardados
+     * @param memoryBudget quantos bytes a tabela pode ocupar na memoria
      * 
-     * @return A maior quantidade de grupos que podem ser formados entre mintermos
-     * com i e i + 1 bits ligados em 1 com i indo de 0 a quantidade de variaveis - 1.
+     * @return Tabela nao simplificavel com os primos implicantes.
      */
     
-    private static int getMaxSizeOfNewMintermTable(MintermTable oldMintermTable)
+    static MintermTable getPrimesTable(long[] primes, int numberOfVariables, StorageMode storageMode, long memoryBudget)
     {
-        int maxSize = 1;
+        MintermTable primesTable = new MintermTable(primes.length, storageMode, memoryBudget);
         
-        if (oldMintermTable != null && oldMintermTable.numberOfLines > 0)
+        Arrays.sort(primes);
+        
+        for (int dashes = 0; dashes <= numberOfVariables; dashes++)
         {
-            int previousGroupSize = 1; // tamanho do grupo de numeros com 0 "ums"
-            int currentGroupSize;
-            int numberOfVariables = oldMintermTable.table[0].mintermAsBinary.length;
-
-            for (int i = 0; i < numberOfVariables; i++)
+            for (int i = 0; i < primes.length; i++)
             {
-                // tamanho do grupo de numeros com i + 1 "ums"
-                currentGroupSize = MATH.combinationOf(numberOfVariables, i + 1);
-                maxSize += previousGroupSize * currentGroupSize;
-                previousGroupSize = currentGroupSize;
+                if (Long.bitCount(primes[i] >>> 32) == dashes)
+                {
+                    primesTable.addLine(primes[i] & 0xFFFFFFFFL, primes[i] >>> 32, numberOfVariables);
+                }
             }
         }
         
-        return maxSize;
-    }/*
+        primesTable.isPossibleToSimplify = false;
+        
+        return primesTable;
+    }
+    
+    /**
+     * Obtem a quantidade de variaveis necessaria para representar os cubos da
+     * tabela. Passa de numberOfVariables quando a tabela verdade nao tem
+     * tamanho potencia de 2, porque nesse caso MATH.log2 arredonda para baixo.
+     * 
+     * @return Quantidade de bits do maior mintermo coberto pela tabela, ou
+     * numberOfVariables, o que for maior.
+     */
+    
+    public int getNumberOfVariablesOfTheCubes()
+    {
+        long allCubes = 0;
+        
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            allCubes |= cubes.getCubeValue(i) | cubes.getCubeDashMask(i);
+        }
+        
+        return Math.max(numberOfVariables, 64 - Long.numberOfLeadingZeros(allCubes));
+    }
+    
+    /*
     
     public static MintermTable removeGroupsThatAllMintermsWereUsed(MintermTable oldMintermTable)
     {
@@ -177,7 +569,7 @@ public class MintermTable
                     // checa se algum mintermo do grupo nao foi encontrado em outro lugar
                     if (!found)
                     {
-                        newMintermTable.addLine(mintermsAsDecimal, tableLine.mintermAsBinary);
+                        newMintermTable.addLine(tableLine.mintermAsBinary);
                     }
 
                     else // se todos foram encontrados,
@@ -196,7 +588,7 @@ public class MintermTable
             {
                 tableLine = newMintermTable.table[numberOfLines - 1 - i];
                 
-                definitiveTable.addLine(tableLine.mintermsAsDecimal, tableLine.mintermAsBinary);
+                definitiveTable.addLine(tableLine.mintermAsBinary);
             }
         }
         
@@ -204,42 +596,21 @@ public class MintermTable
     }*/
     
     /**
-     * Percorre a tabela procurando simplificacoes iguais e deixa apenas uma copia.
+     * Agrupa os mintermos com distancia hamming de 1 usando o modo
+     * {@code GroupingMode.PARALLEL_NEIGHBOR_LOOKUP}. Obs.: E' necessario chamar
+     * este metodo varias vezes ate' que o campo isPossibleToSimplify da
+     * {@code MintermTable} esteja {@code false}.
      * 
-     * @param oldMintermTable tabela de mintermos gerada pelo metodo groupMinterms
+     * @param oldMintermTable tabela de mintermos anterior que tenha sido gerada
+     * ou pelo metodo groupMinterms ou pelo metodo getMintermsTable.
      * 
-     * @return Nova {@code MintermTable} sem simplificacoes duplicadas.
+     * @return Nova {@code MintermTable} com os mintermos agrupados e a representacao
+     * binaria simplificada.
      */
     
-    public static MintermTable removeDuplicatedGroups(MintermTable oldMintermTable)
+    public static MintermTable groupMinterms(MintermTable oldMintermTable)
     {
-        MintermTable newMintermTable = oldMintermTable;
-        
-        if (oldMintermTable != null && oldMintermTable.numberOfLines > 0)
-        {
-            TableLine[] oldTable = oldMintermTable.table;
-            int oldTableLength = oldMintermTable.numberOfLines;
-            newMintermTable = new MintermTable(oldTableLength);
-            
-            char[][] usedMinterms = new char[oldTableLength][oldTable[0].mintermAsBinary.length];
-            int usedMintermsCounter = 0;
-            char[] mintermAsBinary;
-
-            newMintermTable.isPossibleToSimplify = oldMintermTable.isPossibleToSimplify;
-
-            for (int i = 0; i < oldTableLength; i++)
-            {
-                mintermAsBinary = oldTable[i].mintermAsBinary;
-
-                if (Array.indexOf(mintermAsBinary, usedMinterms) == -1)
-                {
-                    usedMinterms[ usedMintermsCounter++ ] = mintermAsBinary;
-                    newMintermTable.addLine(oldTable[i].mintermsAsDecimal, mintermAsBinary);
-                }
-            }
-        }
-        
-        return newMintermTable;
+        return groupMinterms(oldMintermTable, GroupingMode.PARALLEL_NEIGHBOR_LOOKUP);
     }
     
     /**
@@ -247,114 +618,285 @@ public class MintermTable
      * este metodo varias vezes ate' que o campo isPossibleToSimplify da
      * {@code MintermTable} esteja {@code false}.
      * 
+     * <p>Todos os modos geram exatamente a mesma tabela, na mesma ordem. O modo
+     * {@code GroupingMode.PARALLEL_NEIGHBOR_LOOKUP} agrupa sequencialmente os
+     * niveis com menos de {@code MIN_LINES_TO_GROUP_IN_PARALLEL} linhas.</p>
+     * 
+     * <p>Cada simplificacao e' adicionada apenas se ainda nao estiver na nova
+     * tabela, entao o nivel gerado nao tem linhas duplicadas. No modo
+     * {@code StorageMode.MAPPED_FILE} as repeticoes sao removidas no final,
+     * por ordenacao externa, sem mudar a ordem das linhas.</p>
+     * 
+     * <p>Atencao: a nova tabela e' montada nos arranjos da tabela que gerou
+     * {@code oldMintermTable}. Ou seja, uma tabela passada para este metodo e'
+     * reaproveitada dois niveis depois, na chamada que recebe a tabela gerada
+     * a partir dela, e deixa de ser valida a partir dai'. Quem precisar
+     * guardar um nivel deve copia'-lo antes.</p>
+     * 
      * @param oldMintermTable tabela de mintermos anterior que tenha sido gerada
      * ou pelo metodo groupMinterms ou pelo metodo getMintermsTable.
+     * @param groupingMode modo de procura dos pares de linhas agrupaveis
      * 
      * @return Nova {@code MintermTable} com os mintermos agrupados e a representacao
      * binaria simplificada.
      */
     
-    public static MintermTable groupMinterms(MintermTable oldMintermTable)
+    public static MintermTable groupMinterms(MintermTable oldMintermTable, GroupingMode groupingMode)
     {
         MintermTable newMintermTable = null;
         
         if (oldMintermTable != null && oldMintermTable.numberOfLines > 0)
         {
-            TableLine[] oldTable = oldMintermTable.table;
+            oldMintermTable.indexLinesOnDisk();
+            
             int oldTableLength = oldMintermTable.numberOfLines;
-            int sizeOfMintermsGroup = oldTable[0].mintermsAsDecimal.length * 2;
-            int[] usedMinterms = new int[oldTableLength];
-            int[] notUsedMinterms = new int[oldTableLength];
+            CubeStorage cubes = oldMintermTable.cubes;
+            int numberOfVariables = oldMintermTable.numberOfVariables;
+            // usedMinterms[i] indica se a linha i participou de algum agrupamento
+            boolean[] usedMinterms = oldMintermTable.usedLines;
             int usedMintermsCounter = 0;
-            int notUsedMintermsCounter = 0;
-            Arrays.fill(usedMinterms, -1);
 
-            newMintermTable = new MintermTable( getMaxSizeOfNewMintermTable(oldMintermTable) );
-            int[] mintermsGroup;
-            TableLine tableLine1;
-            TableLine tableLine2;
+            Arrays.fill(usedMinterms, 0, oldTableLength, false);
+            newMintermTable = oldMintermTable.getTableForTheNextLevel();
 
-            for (int i = 0; i < oldTableLength; i++)
+            if (groupingMode == GroupingMode.PARALLEL_NEIGHBOR_LOOKUP)
+            {
+                groupingMode = ( oldTableLength < MIN_LINES_TO_GROUP_IN_PARALLEL ?
+                        GroupingMode.NEIGHBOR_LOOKUP : groupingMode );
+            }
+
+            if (groupingMode == GroupingMode.PARALLEL_NEIGHBOR_LOOKUP)
+            {
+                usedMintermsCounter = groupMintermsInParallel(oldMintermTable, newMintermTable);
+            }
+
+            else
             {
-                for (int j = i + 1; j < oldTableLength; j++)
+                int[] partners = new int[ groupingMode == GroupingMode.NEIGHBOR_LOOKUP ? numberOfVariables : oldTableLength ];
+                int numberOfPartners;
+                long cubeValue1;
+                long cubeDashMask1;
+                long cubeValue2;
+                long cubeDashMask2;
+                int j;
+
+                for (int i = 0; i < oldTableLength; i++)
                 {
-                    tableLine1 = oldTable[i];
-                    tableLine2 = oldTable[j];
+                    cubeValue1 = cubes.getCubeValue(i);
+                    cubeDashMask1 = cubes.getCubeDashMask(i);
 
-                    if (Logic.getHammingDistance(tableLine1.mintermAsBinary, tableLine2.mintermAsBinary) == 1)
+                    if (groupingMode == GroupingMode.NEIGHBOR_LOOKUP)
                     {
-                        // adiciona os valores de i e j no arranjo de mintermos usados
-                        if (Array.indexOf(i, usedMinterms) == -1 && usedMintermsCounter < usedMinterms.length)
+                        numberOfPartners = getNeighborsAfter(i, cubeValue1, cubeDashMask1,
+                                numberOfVariables, oldMintermTable, partners);
+                    }
+
+                    else
+                    {
+                        numberOfPartners = getHammingDistance1LinesAfter(i, cubes, oldTableLength, partners);
+                    }
+
+                    for (int p = 0; p < numberOfPartners; p++)
+                    {
+                        j = partners[p];
+                        cubeValue2 = cubes.getCubeValue(j);
+                        cubeDashMask2 = cubes.getCubeDashMask(j);
+
+                        // marca as linhas i e j como usadas
+                        if (!usedMinterms[i])
                         {
-                            usedMinterms[ usedMintermsCounter++ ] = i;
+                            usedMinterms[i] = true;
+                            usedMintermsCounter++;
                         }
 
-                        if (Array.indexOf(j, usedMinterms) == -1 && usedMintermsCounter < usedMinterms.length)
+                        if (!usedMinterms[j])
                         {
-                            usedMinterms[ usedMintermsCounter++ ] = j;
+                            usedMinterms[j] = true;
+                            usedMintermsCounter++;
                         }
 
-                        // cria espaco para guardar os mintermos participantes dessa
-                        // simplificacao por distancia hamming de 1
-                        mintermsGroup = new int[sizeOfMintermsGroup];
-
-                        // pega os mintermos da linha de tabela 1 e coloca no grupo de participantes
-                        System.arraycopy(
-                                tableLine1.mintermsAsDecimal, 0,
-                                mintermsGroup, 0,
-                                tableLine1.mintermsAsDecimal.length
-                        );
-
-                        // pega os mintermos da linha de tabela 2 e coloca no grupo de participantes
-                        System.arraycopy(
-                                tableLine2.mintermsAsDecimal, 0,
-                                mintermsGroup, tableLine1.mintermsAsDecimal.length,
-                                tableLine2.mintermsAsDecimal.length
-                        );
-
-                        // cria uma linha na nova tabela com os mintermos usados e
-                        // com a simplificacao por QuineMcCluskey em binario
-                        newMintermTable.addLine(
-                                mintermsGroup,
-                                Logic.removeBitOfHammingDistance1(tableLine1.mintermAsBinary, tableLine2.mintermAsBinary)
+                        // cria uma linha na nova tabela com a simplificacao por
+                        // QuineMcCluskey. Os mintermos participantes sao os do
+                        // proprio cubo, entao nao e' preciso guarda'-los
+                        newMintermTable.addLineIfItDoesntExist(
+                                Logic.removeBitOfHammingDistance1FromValue(
+                                        cubeValue1, cubeDashMask1, cubeValue2, cubeDashMask2),
+                                Logic.removeBitOfHammingDistance1FromDashMask(
+                                        cubeValue1, cubeDashMask1, cubeValue2, cubeDashMask2),
+                                numberOfVariables
                         );
                     }
                 }
+            }
 
-                if (Array.indexOf(i, usedMinterms) == -1)
+            // as linhas que nunca foram agrupadas sao primos implicantes
+            // e passam para a nova tabela
+            for (int i = 0; i < oldTableLength; i++)
+            {
+                if (!usedMinterms[i])
                 {
-                    notUsedMinterms[ notUsedMintermsCounter++ ] = i;
+                    newMintermTable.addLineIfItDoesntExist(cubes.getCubeValue(i), cubes.getCubeDashMask(i), numberOfVariables);
                 }
             }
 
-            for (int i = 0; i < notUsedMintermsCounter; i++)
-            {
-                newMintermTable.addLine(
-                        oldTable[ notUsedMinterms[i] ].mintermsAsDecimal,
-                        oldTable[ notUsedMinterms[i] ].mintermAsBinary
-                );
-            }
+            newMintermTable.indexLinesOnDisk();
 
             if (usedMintermsCounter == 0)
             {
+                // o nivel montado e' descartado, mas continua ligado a' tabela
+                // antiga para ser reaproveitado ou solto junto com ela
+                newMintermTable.previousLevel = null;
+                oldMintermTable.previousLevel = newMintermTable;
                 newMintermTable = oldMintermTable;
-                newMintermTable.isPossibleToSimplify = false;/*
-                newMintermTable = removeDuplicatedGroups(newMintermTable);
-                newMintermTable = removeGroupsThatAllMintermsWereUsed(newMintermTable);*/
+                newMintermTable.isPossibleToSimplify = false;
             }
-
-            else
+        }
+        
+        return newMintermTable;
+    }
+    
+    /**
+     * Divide a tabela em particoes de linhas consecutivas e agrupa cada uma
+     * com um {@code GroupingTask} no {@code ForkJoinPool} comum. Os cubos
+     * gerados por cada particao sao adicionados a' nova tabela na ordem das
+     * particoes, entao a nova tabela fica igual a' do agrupamento sequencial.
+     * 
+     * @param oldMintermTable tabela de mintermos a ser agrupada, cujas linhas
+     * agrupadas serao marcadas em usedLines
+     * @param newMintermTable tabela onde os cubos gerados serao adicionados
+     * 
+     * @return Quantas linhas participaram de algum agrupamento.
+     */
+    
+    private static int groupMintermsInParallel(MintermTable oldMintermTable, MintermTable newMintermTable)
+    {
+        int oldTableLength = oldMintermTable.numberOfLines;
+        // algumas particoes por thread para equilibrar niveis irregulares
+        int numberOfPartitions = Math.max(1, Math.min(
+                ForkJoinPool.getCommonPoolParallelism() * 4,
+                oldTableLength / MIN_LINES_PER_PARTITION
+        ));
+        GroupingTask[] tasks = new GroupingTask[numberOfPartitions];
+        int numberOfVariables = oldMintermTable.numberOfVariables;
+        long footprintOfTheBuffers = 0;
+        int usedMintermsCounter = 0;
+        
+        for (int p = 0; p < numberOfPartitions; p++)
+        {
+            tasks[p] = new GroupingTask(oldMintermTable,
+                    (int) ( (long) oldTableLength * p / numberOfPartitions ),
+                    (int) ( (long) oldTableLength * ( p + 1 ) / numberOfPartitions ));
+        }
+        
+        ForkJoinTask.invokeAll(tasks);
+        
+        for (GroupingTask task : tasks)
+        {
+            footprintOfTheBuffers += task.getFootprint();
+        }
+        
+        for (GroupingTask task : tasks)
+        {
+            for (int i = 0; i < task.numberOfCubes; i++)
             {
-                newMintermTable = removeDuplicatedGroups(newMintermTable);
+                newMintermTable.addLineIfItDoesntExist(task.cubes.getCubeValue(i), task.cubes.getCubeDashMask(i), numberOfVariables);
             }
+            
+            task.cubes.release();
         }
         
-        return newMintermTable;
+        // os buffers existem ao mesmo tempo que a nova tabela
+        newMintermTable.peakFootprint += footprintOfTheBuffers;
+        
+        for (int i = 0; i < oldTableLength; i++)
+        {
+            usedMintermsCounter += ( oldMintermTable.usedLines[i] ? 1 : 0 );
+        }
+        
+        return usedMintermsCounter;
+    }
+    
+    /**
+     * Compara a linha {@code line} com todas as linhas abaixo dela na tabela
+     * e guarda os indices das que estao a distancia hamming de 1 dela.
+     * 
+     * @param line indice da linha a ser comparada
+     * @param cubes cubos das linhas da tabela
+     * @param numberOfLines quantidade de linhas da tabela
+     * @param partners arranjo onde os indices encontrados serao guardados
+     * 
+     * @return Quantos indices foram guardados em {@code partners}.
+     */
+    
+    private static int getHammingDistance1LinesAfter(int line, CubeStorage cubes, int numberOfLines, int[] partners)
+    {
+        long cubeValue = cubes.getCubeValue(line);
+        long cubeDashMask = cubes.getCubeDashMask(line);
+        int numberOfPartners = 0;
+        
+        for (int j = line + 1; j < numberOfLines; j++)
+        {
+            if (Logic.getHammingDistance(cubeValue, cubeDashMask,
+                    cubes.getCubeValue(j), cubes.getCubeDashMask(j)) == 1)
+            {
+                partners[ numberOfPartners++ ] = j;
+            }
+        }
+        
+        return numberOfPartners;
+    }
+    
+    /**
+     * Troca, uma por vez, cada variavel nao eliminada do cubo da linha e procura
+     * o cubo resultante no indice. Dessa forma, sao feitas apenas <i>n</i>
+     * consultas por linha, sendo <i>n</i> a quantidade de variaveis, em vez de
+     * comparar a linha com todas as outras.
+     * 
+     * <p>So' sao encontrados vizinhos com a mesma mascara de variaveis eliminadas.
+     * Numa tabela sem linhas duplicadas gerada por groupMinterms, uma linha a
+     * distancia hamming de 1 com mascara diferente estaria contida num grupo maior
+     * e, portanto, ja' teria sido agrupada antes, entao nenhum par e' perdido.</p>
+     * 
+     * @param line indice da linha cujos vizinhos serao procurados
+     * @param cubeValue bits de valor do cubo da linha
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo da linha
+     * @param numberOfVariables quantidade de variaveis da funcao logica
+     * @param mintermTable tabela onde os vizinhos serao procurados
+     * @param partners arranjo onde os indices encontrados serao guardados em
+     * ordem crescente, como no modo {@code GroupingMode.ALL_PAIRS}
+     * 
+     * @return Quantos indices, maiores que {@code line}, foram guardados em
+     * {@code partners}.
+     */
+    
+    static int getNeighborsAfter(int line, long cubeValue, long cubeDashMask, int numberOfVariables,
+            MintermTable mintermTable, int[] partners)
+    {
+        int numberOfPartners = 0;
+        int neighbor;
+        
+        for (int i = 0; i < numberOfVariables; i++)
+        {
+            if (( cubeDashMask >>> i & 1 ) == 0)
+            {
+                neighbor = mintermTable.indexOf(cubeValue ^ ( 1L << i ), cubeDashMask);
+                
+                if (neighbor > line)
+                {
+                    partners[ numberOfPartners++ ] = neighbor;
+                }
+            }
+        }
+        
+        Arrays.sort(partners, 0, numberOfPartners);
+        
+        return numberOfPartners;
     }
     
     /**
      * Pega todos os mintermos da tabela e retorna um arranjo com eles em ordem
-     * crescente. Sem nenhum mintermo duplicado.
+     * crescente. Sem nenhum mintermo duplicado. Os mintermos vem do
+     * {@code MintermIndex} da tabela, entao nao e' preciso ordena'-los.
      * 
      * @param mintermTable tabela de mintermos a ser percorrida
      * 
@@ -371,32 +913,7 @@ public class MintermTable
             
             if (numberOfLines > 0)
             {
-                int[] tableMinterms = new int[ numberOfLines * mintermTable.table[0].mintermsAsDecimal.length ];
-                Arrays.fill(tableMinterms, -1);
-                int mintermsCounter = 0;
-                int[] mintermsAsDecimal;
-                int minterm;
-                
-                for (int i = 0; i < numberOfLines; i++)
-                {
-                    mintermsAsDecimal = mintermTable.table[i].mintermsAsDecimal;
-                    
-                    for (int j = 0; j < mintermsAsDecimal.length; j++)
-                    {
-                        minterm = mintermsAsDecimal[j];
-                        
-                        if (Array.indexOf(minterm, tableMinterms) == -1)
-                        {
-                            tableMinterms[ mintermsCounter++ ] = minterm;
-                        }
-                    }
-                }
-                
-                minterms = new int[mintermsCounter];
-                
-                System.arraycopy(tableMinterms, 0, minterms, 0, mintermsCounter);
-                
-                Arrays.sort(minterms);
+                minterms = mintermTable.getMintermIndex().minterms.clone();
             }
         }
         
@@ -422,101 +939,154 @@ public class MintermTable
 
     public char[][] getAllMintermsAsBinary()
     {
-        int numberOfVariables = table[0].mintermAsBinary.length;
-
-        char[][] mintermsAsBinary = new char[numberOfLines][numberOfVariables];
+        char[][] mintermsAsBinary = new char[numberOfLines][];
 
         for (int i = 0; i < numberOfLines; i++)
         {
-            mintermsAsBinary[i] = table[i].mintermAsBinary;
+            mintermsAsBinary[i] = MATH.cubeToBinary(cubes.getCubeValue(i), cubes.getCubeDashMask(i), numberOfVariables);
         }
 
         return mintermsAsBinary;
     }
 
     /**
-     * Cria uma linha de tabela com os arranjos rebecidos e a adiciona no
-     * final da tabela se ainda houver espaco.
+     * Adiciona no final da tabela o cubo da representacao binaria recebida.
+     * A tabela guarda apenas o cubo, entao os mintermos da linha passam a ser
+     * os mintermos cobertos por ele.
      * 
-     * @param mintermsAsDecimal arranjo de mintermos usados para chegar na
-     * representacao binaria recebida
-     * @param mintermAsBinary representacao binaria resultante
+     * @param mintermAsBinary representacao binaria do cubo
      */
 
-    public void addLine(int[] mintermsAsDecimal, char[] mintermAsBinary)
+    public void addLine(char[] mintermAsBinary)
     {
-        if (numberOfLines < table.length)
+        addLine(
+                MATH.binaryToCubeValue(mintermAsBinary),
+                MATH.binaryToCubeDashMask(mintermAsBinary),
+                mintermAsBinary.length
+        );
+    }
+
+    /**
+     * Adiciona o cubo compacto recebido no final da tabela. Caso nao haja mais
+     * espaco, os arranjos sao dobrados de tamanho, de forma que a memoria
+     * acompanha a quantidade de linhas realmente adicionadas.
+     * 
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     * @param numberOfVariables quantidade de variaveis da funcao logica
+     */
+
+    public void addLine(long cubeValue, long cubeDashMask, int numberOfVariables)
+    {
+        ensureCapacity();
+        cubes.setCube(numberOfLines, cubeValue, cubeDashMask);
+        
+        if (cubeIndex != null)
         {
-            table[numberOfLines++] = new TableLine(mintermsAsDecimal, mintermAsBinary);
+            cubeIndex.add(numberOfLines);
         }
+        
+        countLine(numberOfVariables);
     }
 
     /**
-     * Procura um mintermo por toda a tabela e vai guardando em pares os
-     * indices das linhas e colunas, respectivamente, onde ele for
-     * encontrado. Caso nao seja encontrado, a funcao retorna uma matriz
-     * com 0 linhas.
+     * Adiciona o cubo compacto recebido no final da tabela apenas se ele
+     * ainda nao estiver nela. Sem o indice em memoria o cubo e' sempre
+     * adicionado e as repeticoes sao removidas depois pelo metodo
+     * indexLinesOnDisk.
      * 
-     * @param minterm mintermo a ser procurado
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     * @param numberOfVariables quantidade de variaveis da funcao logica
      * 
-     * @return Matriz em que cada linha tem um par de indices que representa
-     * a linha e a coluna onde o mintermo foi encontrado. A matriz tera' <i>n</i>
-     * linhas e 2 colunas, sendo <i>n</i> a quantidade de vezes que o mintermo foi
-     * encontrado.
+     * @return {@code true} se o cubo foi adicionado, caso contrario,
+     * {@code false}.
      */
 
-    public int[][] indexesOf(int minterm)
+    boolean addLineIfItDoesntExist(long cubeValue, long cubeDashMask, int numberOfVariables)
     {
-        int column;
-        int[][] indexes = new int[numberOfLines][2];
-        int indexesCounter = 0;
-
-        for (int i = 0; i < numberOfLines; i++)
+        ensureCapacity();
+        
+        // o cubo e' guardado na proxima posicao livre, mas so' passa a fazer
+        // parte da tabela se ainda nao estiver nela
+        cubes.setCube(numberOfLines, cubeValue, cubeDashMask);
+        
+        boolean added = ( cubeIndex == null || cubeIndex.add(numberOfLines) == -1 );
+        
+        if (added)
         {
-            column = Array.indexOf(minterm, table[i].mintermsAsDecimal);
+            countLine(numberOfVariables);
+        }
+        
+        return added;
+    }
 
-            if (column != -1)
+    private void ensureCapacity()
+    {
+        if (numberOfLines == cubes.getCapacity())
+        {
+            int newCapacity = Math.max(1, cubes.getCapacity() * 2);
+            
+            if (cubeIndex != null && getFootprintOf(newCapacity) > memoryBudget)
             {
-                indexes[indexesCounter][0] = i;
-                indexes[indexesCounter++][1] = column;
+                spillToDisk();
             }
+            
+            // durante a copia os arranjos antigos e os novos existem ao mesmo tempo
+            peakFootprint = Math.max(peakFootprint, footprint + getFootprintOf(newCapacity) -
+                    ( cubeIndex != null ? cubeIndex.getFootprint() : 0 ));
+            
+            cubes.grow(newCapacity);
+            usedLines = Arrays.copyOf(usedLines, newCapacity);
         }
+    }
+
+    private void countLine(int numberOfVariables)
+    {
+        discardSortedCubes();
+        mintermIndex = null;
+        numberOfLines++;
+        this.numberOfVariables = numberOfVariables;
+        
+        footprint = getFootprintOf( cubes.getCapacity() );
+        peakFootprint = Math.max(peakFootprint, footprint);
+    }
 
-        int[][] definitiveIndexes = new int[indexesCounter][2];
+    /**
+     * Obtem o indice invertido mintermo -> linhas da tabela, montando-o caso
+     * as linhas tenham mudado desde a ultima consulta.
+     * 
+     * @return Indice invertido das linhas atuais da tabela.
+     */
 
-        for (int i = 0; i < indexesCounter; i++)
+    MintermIndex getMintermIndex()
+    {
+        if (mintermIndex == null)
         {
-            System.arraycopy(indexes[i], 0, definitiveIndexes[i], 0, 2);
+            mintermIndex = new MintermIndex(this);
         }
 
-        return definitiveIndexes;
+        return mintermIndex;
     }
 
     /**
-     * Verifica se todas as linhas da tabela tem pelo menos algum elemento
-     * do arranjo.
+     * Procura um mintermo na tabela e obtem em pares os indices das linhas e
+     * colunas, respectivamente, onde ele aparece. Caso nao seja encontrado, a
+     * funcao retorna uma matriz com 0 linhas. A consulta usa o
+     * {@code MintermIndex} da tabela, entao custa apenas a quantidade de
+     * linhas encontradas.
      * 
-     * @param array arranjo a ser usado como base nas pesquisas
+     * @param minterm mintermo a ser procurado
      * 
-     * @return {@code true} se todas as linhas da tabela tiverem pelo menos um
-     * elemento do arranjo, caso contrario, {@code false}.
+     * @return Matriz em que cada linha tem um par de indices que representa
+     * a linha e a coluna onde o mintermo foi encontrado. A matriz tera' <i>n</i>
+     * linhas e 2 colunas, sendo <i>n</i> a quantidade de vezes que o mintermo foi
+     * encontrado.
      */
 
-    public boolean eachLineHasOneOrMoreElementsOfTheArray(int[] array)
+    public int[][] indexesOf(int minterm)
     {
-        boolean eachLineHasOneOrMoreElements = false;
-
-        if (numberOfLines > 0)
-        {
-            eachLineHasOneOrMoreElements = ( Array.indexOf(array, table[0].mintermsAsDecimal)[0] != -1 );
-
-            for (int i = 1; eachLineHasOneOrMoreElements && i < numberOfLines; i++)
-            {
-                eachLineHasOneOrMoreElements = ( Array.indexOf(array, table[i].mintermsAsDecimal)[0] != -1 );
-            }
-        }
-
-        return eachLineHasOneOrMoreElements;
+        return getMintermIndex().indexesOf(minterm);
     }
 
     /**
@@ -537,11 +1107,9 @@ public class MintermTable
 
     public void printTable()
     {
-        TableLine line;
-
-        for (int i = 0; i < table.length && (line = table[i]) != null; i++)
+        for (int i = 0; i < numberOfLines; i++)
         {
-            line.printTableLine();
+            getLine(i).printTableLine();
         }
     }
 }
\ No newline at end of file
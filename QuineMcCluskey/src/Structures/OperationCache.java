@@ -0,0 +1,82 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Cache dos resultados das operacoes recursivas sobre diagramas de decisao,
+ * enderecado diretamente pelo hash de (operacao, operando 1, operando 2,
+ * operando 3). Uma entrada nova sobrescreve a que estava na mesma posicao,
+ * entao o cache tem tamanho fixo e perder uma entrada so' faz a operacao ser
+ * recalculada.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class OperationCache
+{
+    // (operacao, operando 1) e (operando 2, operando 3) de cada entrada
+    long[] keys1;
+    long[] keys2;
+    int[] results;
+
+    OperationCache(int log2OfTheSize)
+    {
+        keys1 = new long[1 << log2OfTheSize];
+        keys2 = new long[keys1.length];
+        results = new int[keys1.length];
+        clear();
+    }
+
+    /**
+     * Descarta todas as entradas, por exemplo quando os indices dos nos
+     * mudam.
+     */
+
+    void clear()
+    {
+        // nenhuma operacao tem todos os bits ligados
+        Arrays.fill(keys1, -1);
+    }
+
+    private int getSlot(long key1, long key2)
+    {
+        long hash = ( key1 * 0x9E3779B97F4A7C15L ) ^ ( key2 * 0xC2B2AE3D27D4EB4FL );
+
+        return (int) ( hash >>> 32 ^ hash ) & ( keys1.length - 1 );
+    }
+
+    /**
+     * @return Resultado guardado da operacao ou -1 caso ele nao esteja no
+     * cache.
+     */
+
+    int get(int operation, int operand1, int operand2, int operand3)
+    {
+        long key1 = ( (long) operation << 32 ) | ( operand1 & 0xFFFFFFFFL );
+        long key2 = ( (long) operand2 << 32 ) | ( operand3 & 0xFFFFFFFFL );
+        int slot = getSlot(key1, key2);
+
+        return ( keys1[slot] == key1 && keys2[slot] == key2 ? results[slot] : -1 );
+    }
+
+    int get(int operation, int operand1, int operand2)
+    {
+        return get(operation, operand1, operand2, 0);
+    }
+
+    void put(int operation, int operand1, int operand2, int operand3, int result)
+    {
+        long key1 = ( (long) operation << 32 ) | ( operand1 & 0xFFFFFFFFL );
+        long key2 = ( (long) operand2 << 32 ) | ( operand3 & 0xFFFFFFFFL );
+        int slot = getSlot(key1, key2);
+
+        keys1[slot] = key1;
+        keys2[slot] = key2;
+        results[slot] = result;
+    }
+
+    void put(int operation, int operand1, int operand2, int result)
+    {
+        put(operation, operand1, operand2, 0, result);
+    }
+}
@@ -0,0 +1,434 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de todos os primos implicantes de uma funcao logica guardado
+ * implicitamente num ZDD, sem uma linha por primo. Funcoes com milhoes de
+ * primos, que nao caberiam numa {@code MintermTable}, ocupam apenas os nos
+ * do diagrama.
+ *
+ * <p>Os primos sao gerados a partir do BDD da funcao pelo metodo de
+ * Coudert e Madre, que e' a expansao de Shannon da classe
+ * {@code CofactorTask} feita sobre diagramas: sendo f0 e f1 os cofatores da
+ * raiz na variavel x, P(f) = x'.(P(f0) - P(f0.f1)) + x.(P(f1) - P(f0.f1)) +
+ * P(f0.f1). A variavel x do nivel l do BDD corresponde a duas variaveis do
+ * ZDD: 2l + 1 para o literal x' e 2l para o literal x.</p>
+ *
+ * <p>Antes de gerar os primos, as variaveis do BDD sao reordenadas pelo
+ * metodo Bdd.sift. Como os literais do ZDD seguem os niveis do BDD, um BDD
+ * menor tambem deixa menores os ZDDs dos primos e as operacoes entre eles.</p>
+ *
+ * <p>Para o mapa de cobertura, os primos essenciais sao encontrados sem
+ * enumerar os primos, pelos BDDs dos mintermos cobertos por pelo menos um e
+ * por pelo menos dois primos, e so' sao enumerados os essenciais e os primos
+ * que cobrem algum mintermo que eles nao cobrem.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class PrimeImplicantSet
+{
+    // o valor e a mascara de cada primo enumerado sao guardados em 32 bits cada um
+    static final int MAX_VARIABLES = 31;
+
+    private static final int CUBES_INTERSECTING = 0;
+
+    // BDD da funcao, cujos niveis sao os dos literais do ZDD
+    Bdd bdd;
+    Zdd zdd = new Zdd();
+    int numberOfVariables;
+    MintermTable.StorageMode storageMode;
+    long memoryBudget;
+    // raiz do BDD da funcao
+    int function;
+    // raiz do ZDD com todos os primos
+    int primes;
+    // raiz do ZDD com os primos essenciais, -1 ate' serem calculados
+    int essentialPrimes = -1;
+    // primos de cada no do BDD, -1 se ainda nao foram gerados
+    int[] primesOfTheNodes = new int[0];
+    // BDDs dos mintermos cobertos por pelo menos um e por pelo menos dois
+    // cubos de cada no do ZDD, -1 se ainda nao foram calculados
+    int[] coveredOnce = new int[0];
+    int[] coveredTwice = new int[0];
+    // cache da operacao getCubesIntersecting, cujos operandos sao um no do
+    // ZDD e um no do BDD
+    OperationCache cache = new OperationCache(16);
+
+    private PrimeImplicantSet(MintermTable mintermsTable, Bdd bdd, int function)
+    {
+        numberOfVariables = mintermsTable.getNumberOfVariablesOfTheCubes();
+
+        if (numberOfVariables > MAX_VARIABLES)
+        {
+            throw new IllegalArgumentException(
+                    "A funcao tem " + numberOfVariables + " variaveis, o maximo e' " + MAX_VARIABLES);
+        }
+
+        if (bdd.getNumberOfVariables() != numberOfVariables)
+        {
+            throw new IllegalArgumentException("O BDD tem " + bdd.getNumberOfVariables() +
+                    " variaveis, a funcao tem " + numberOfVariables);
+        }
+
+        storageMode = mintermsTable.getStorageMode();
+        memoryBudget = mintermsTable.getMemoryBudget();
+        this.bdd = bdd;
+        this.function = bdd.sift(function)[0];
+        primes = getPrimesOf(this.function);
+    }
+
+    /**
+     * Gera implicitamente todos os primos implicantes da funcao cujos
+     * mintermos estao em {@code mintermsTable}.
+     *
+     * @param mintermsTable tabela de mintermos da funcao logica
+     *
+     * @return Conjunto de primos implicantes da funcao.
+     *
+     * @throws IllegalArgumentException caso a funcao tenha mais de
+     * {@code MAX_VARIABLES} variaveis.
+     */
+
+    public static PrimeImplicantSet getPrimeImplicantSet(MintermTable mintermsTable)
+    {
+        Bdd bdd = new Bdd( mintermsTable.getNumberOfVariablesOfTheCubes() );
+
+        return new PrimeImplicantSet(mintermsTable, bdd, bdd.getNode(mintermsTable));
+    }
+
+    /**
+     * Gera implicitamente todos os primos implicantes de uma funcao cujo BDD
+     * ja' foi construido. As variaveis do BDD sao reordenadas, entao as
+     * outras raizes guardadas fora deste conjunto deixam de ser validas; a
+     * raiz da funcao apos a reordenacao e' obtida pelo metodo getFunction.
+     *
+     * @param mintermsTable tabela de mintermos da funcao logica, de onde vem
+     * o modo de armazenamento e o orcamento de memoria das tabelas geradas
+     * @param bdd BDD com a mesma quantidade de variaveis da funcao
+     * @param function raiz do BDD da funcao
+     *
+     * @return Conjunto de primos implicantes da funcao.
+     *
+     * @throws IllegalArgumentException caso a funcao tenha mais de
+     * {@code MAX_VARIABLES} variaveis ou o BDD tenha outra quantidade de
+     * variaveis.
+     */
+
+    public static PrimeImplicantSet getPrimeImplicantSet(MintermTable mintermsTable, Bdd bdd, int function)
+    {
+        return new PrimeImplicantSet(mintermsTable, bdd, function);
+    }
+
+    /**
+     * @return Raiz, no BDD recebido na criacao, da funcao cujos primos estao
+     * neste conjunto.
+     */
+
+    public int getFunction()
+    {
+        return function;
+    }
+
+    public int getNumberOfVariables()
+    {
+        return numberOfVariables;
+    }
+
+    /**
+     * Conta os primos implicantes sem enumera-los.
+     *
+     * @return Quantidade de primos implicantes da funcao.
+     */
+
+    public long getNumberOfPrimes()
+    {
+        return zdd.count(primes);
+    }
+
+    /**
+     * Conta os primos implicantes essenciais sem enumera-los.
+     *
+     * @return Quantidade de primos que sao os unicos a cobrir algum mintermo.
+     */
+
+    public long getNumberOfEssentialPrimes()
+    {
+        return zdd.count( getEssentialPrimes() );
+    }
+
+    /**
+     * Enumera todos os primos implicantes numa tabela, na mesma ordem do
+     * metodo TernaryPrimeGenerator.getPrimeImplicants.
+     *
+     * @return Tabela nao simplificavel com todos os primos implicantes.
+     */
+
+    public MintermTable getPrimeImplicants()
+    {
+        return getTable(primes);
+    }
+
+    /**
+     * Enumera numa tabela apenas os primos implicantes que podem fazer parte
+     * de uma cobertura minima: os essenciais e os que cobrem algum mintermo
+     * nao coberto pelos essenciais. Os outros primos so' cobrem mintermos ja'
+     * cobertos e nunca sao enumerados. A tabela pode ser passada diretamente
+     * para o metodo CoverageMap.getCoverageMap.
+     *
+     * @return Tabela nao simplificavel com os primos necessarios para a
+     * cobertura.
+     */
+
+    public MintermTable getPrimesForTheCover()
+    {
+        int essentialPrimes = getEssentialPrimes();
+        int uncoveredMinterms = bdd.andNot(function, getCoveredOnce(essentialPrimes));
+
+        return getTable( zdd.union(essentialPrimes, getCubesIntersecting(primes, uncoveredMinterms)) );
+    }
+
+    private static int getPositiveLiteral(int level)
+    {
+        return 2 * level;
+    }
+
+    private static int getNegativeLiteral(int level)
+    {
+        return 2 * level + 1;
+    }
+
+    /**
+     * Obtem o nivel no BDD da variavel do literal da raiz do ZDD, -1 nos
+     * terminais.
+     */
+
+    private int getFunctionLevel(int zddNode)
+    {
+        return ( zdd.getVariable(zddNode) == DecisionNodes.TERMINAL_VARIABLE ?
+                DecisionNodes.TERMINAL_VARIABLE : zdd.getVariable(zddNode) >> 1 );
+    }
+
+    /**
+     * Separa os cubos do ZDD pelo literal da variavel do nivel recebido, que
+     * deve ser maior ou igual ao nivel da raiz.
+     *
+     * @return Arranjo com os cubos sem literal da variavel, os cubos com o
+     * literal positivo e os cubos com o literal negativo, estes dois sem o
+     * literal.
+     */
+
+    private int[] getCubesByLiteral(int zddNode, int level)
+    {
+        int negative = zdd.getSubsetWith(zddNode, getNegativeLiteral(level));
+        int rest = zdd.getSubsetWithout(zddNode, getNegativeLiteral(level));
+
+        return new int[] {
+            zdd.getSubsetWithout(rest, getPositiveLiteral(level)),
+            zdd.getSubsetWith(rest, getPositiveLiteral(level)),
+            negative
+        };
+    }
+
+    /**
+     * Gera o ZDD dos primos implicantes da funcao do no do BDD.
+     */
+
+    private int getPrimesOf(int bddNode)
+    {
+        int result;
+
+        if (bddNode == Bdd.ZERO) result = Zdd.EMPTY;
+        else if (bddNode == Bdd.ONE) result = Zdd.BASE;
+
+        else
+        {
+            if (bddNode >= primesOfTheNodes.length)
+            {
+                int oldLength = primesOfTheNodes.length;
+
+                primesOfTheNodes = Arrays.copyOf(primesOfTheNodes, bdd.nodes.variables.length);
+                Arrays.fill(primesOfTheNodes, oldLength, primesOfTheNodes.length, -1);
+            }
+
+            result = primesOfTheNodes[bddNode];
+
+            if (result == -1)
+            {
+                int level = bdd.getLevel(bddNode);
+                int cofactor0 = bdd.getLow(bddNode);
+                int cofactor1 = bdd.getHigh(bddNode);
+                int primes01 = getPrimesOf( bdd.and(cofactor0, cofactor1) );
+                int primes0 = zdd.difference(getPrimesOf(cofactor0), primes01);
+                int primes1 = zdd.difference(getPrimesOf(cofactor1), primes01);
+
+                result = zdd.getNode(getNegativeLiteral(level),
+                        zdd.getNode(getPositiveLiteral(level), primes01, primes1),
+                        primes0);
+
+                // o arranjo pode ter crescido nas chamadas recursivas
+                primesOfTheNodes[bddNode] = result;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Obtem o ZDD dos primos essenciais: os que cobrem algum mintermo coberto
+     * por um unico primo.
+     */
+
+    private int getEssentialPrimes()
+    {
+        if (essentialPrimes == -1)
+        {
+            essentialPrimes = getCubesIntersecting(primes, bdd.andNot(function, getCoveredTwice(primes)));
+        }
+
+        return essentialPrimes;
+    }
+
+    private int getCoveredOnce(int zddNode)
+    {
+        computeCoverage(zddNode);
+
+        return coveredOnce[zddNode];
+    }
+
+    private int getCoveredTwice(int zddNode)
+    {
+        computeCoverage(zddNode);
+
+        return coveredTwice[zddNode];
+    }
+
+    /**
+     * Calcula os BDDs dos mintermos cobertos por pelo menos um e por pelo
+     * menos dois cubos do ZDD. Com x = 0, um mintermo e' coberto pelos cubos
+     * sem literal de x e pelos cubos com x', e e' coberto duas vezes se uma
+     * das duas familias o cobrir duas vezes ou se ambas o cobrirem. Com x = 1
+     * o mesmo vale para os cubos com x.
+     */
+
+    private void computeCoverage(int zddNode)
+    {
+        if (zddNode >= coveredOnce.length)
+        {
+            int oldLength = coveredOnce.length;
+
+            coveredOnce = Arrays.copyOf(coveredOnce, zdd.nodes.variables.length);
+            coveredTwice = Arrays.copyOf(coveredTwice, coveredOnce.length);
+            Arrays.fill(coveredOnce, oldLength, coveredOnce.length, -1);
+            coveredOnce[Zdd.EMPTY] = coveredTwice[Zdd.EMPTY] = Bdd.ZERO;
+            // o cubo sem literais cobre todos os mintermos uma vez
+            coveredOnce[Zdd.BASE] = Bdd.ONE;
+            coveredTwice[Zdd.BASE] = Bdd.ZERO;
+        }
+
+        if (coveredOnce[zddNode] == -1)
+        {
+            int level = getFunctionLevel(zddNode);
+            int variable = bdd.getVariableAtLevel(level);
+            int[] cubes = getCubesByLiteral(zddNode, level);
+            int without = cubes[0];
+            int positive = cubes[1];
+            int negative = cubes[2];
+
+            computeCoverage(without);
+            computeCoverage(positive);
+            computeCoverage(negative);
+
+            int once0 = bdd.or(coveredOnce[without], coveredOnce[negative]);
+            int once1 = bdd.or(coveredOnce[without], coveredOnce[positive]);
+            int twice0 = bdd.or(bdd.or(coveredTwice[without], coveredTwice[negative]),
+                    bdd.and(coveredOnce[without], coveredOnce[negative]));
+            int twice1 = bdd.or(bdd.or(coveredTwice[without], coveredTwice[positive]),
+                    bdd.and(coveredOnce[without], coveredOnce[positive]));
+
+            coveredOnce[zddNode] = bdd.getNode(variable, once0, once1);
+            coveredTwice[zddNode] = bdd.getNode(variable, twice0, twice1);
+        }
+    }
+
+    /**
+     * Obtem a sub-familia dos cubos do ZDD que cobrem algum mintermo da
+     * funcao do BDD.
+     */
+
+    private int getCubesIntersecting(int zddNode, int bddNode)
+    {
+        int result;
+
+        if (zddNode == Zdd.EMPTY || bddNode == Bdd.ZERO) result = Zdd.EMPTY;
+        // o cubo sem literais cobre qualquer mintermo
+        else if (bddNode == Bdd.ONE || zddNode == Zdd.BASE) result = zddNode;
+
+        else
+        {
+            result = cache.get(CUBES_INTERSECTING, zddNode, bddNode);
+
+            if (result == -1)
+            {
+                int level = Math.max(getFunctionLevel(zddNode), bdd.getLevel(bddNode));
+                int variable = bdd.getVariableAtLevel(level);
+                int[] cubes = getCubesByLiteral(zddNode, level);
+                int cofactor0 = bdd.getCofactor(bddNode, variable, 0);
+                int cofactor1 = bdd.getCofactor(bddNode, variable, 1);
+
+                result = zdd.getNode(getNegativeLiteral(level),
+                        zdd.getNode(getPositiveLiteral(level),
+                                getCubesIntersecting(cubes[0], bdd.or(cofactor0, cofactor1)),
+                                getCubesIntersecting(cubes[1], cofactor1)),
+                        getCubesIntersecting(cubes[2], cofactor0));
+
+                cache.put(CUBES_INTERSECTING, zddNode, bddNode, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Enumera os cubos do ZDD numa tabela.
+     */
+
+    private MintermTable getTable(int zddNode)
+    {
+        long[] cubes = new long[ (int) Math.min(Integer.MAX_VALUE - 8, zdd.count(zddNode)) ];
+        long allVariables = ( 1L << numberOfVariables ) - 1;
+
+        addCubes(zddNode, 0, allVariables, cubes, 0);
+
+        return MintermTable.getPrimesTable(cubes, numberOfVariables, storageMode, memoryBudget);
+    }
+
+    /**
+     * Adiciona ao arranjo os cubos dos caminhos do no ate' o terminal
+     * {@code BASE}, partindo do cubo com o valor e a mascara recebidos.
+     *
+     * @return Nova quantidade de cubos no arranjo.
+     */
+
+    private int addCubes(int zddNode, long cubeValue, long cubeDashMask, long[] cubes, int cubesCounter)
+    {
+        if (zddNode == Zdd.BASE)
+        {
+            cubes[ cubesCounter++ ] = ( cubeDashMask << 32 ) | cubeValue;
+        }
+
+        else if (zddNode != Zdd.EMPTY)
+        {
+            int literal = zdd.getVariable(zddNode);
+            long variableBit = 1L << bdd.getVariableAtLevel(literal >> 1);
+
+            cubesCounter = addCubes(zdd.getLow(zddNode), cubeValue, cubeDashMask, cubes, cubesCounter);
+            cubesCounter = addCubes(zdd.getHigh(zddNode),
+                    ( literal == getPositiveLiteral(literal >> 1) ? cubeValue | variableBit : cubeValue ),
+                    cubeDashMask & ~variableBit, cubes, cubesCounter);
+        }
+
+        return cubesCounter;
+    }
+}
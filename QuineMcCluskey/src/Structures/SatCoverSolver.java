@@ -0,0 +1,181 @@
+package Structures;
+
+import Util.Bits;
+
+/**
+ * Versao do {@code MinimumCoverSolver} que encontra a menor cobertura com um
+ * {@code SatSolver} em vez da busca com poda. Cada solucao encontrada ja' e'
+ * uma cobertura valida, menor que a anterior, e o que o resolvedor aprende
+ * com um limite continua valendo para os limites seguintes.
+ *
+ * <p>Cada linha candidata e' uma variavel e cada coluna e' a clausula com as
+ * linhas que a cobrem. A restricao "no maximo k linhas" e' codificada com um
+ * contador sequencial: a variavel s(i, j) e' forcada a 1 quando pelo menos
+ * j + 1 das linhas 0 ate' i foram escolhidas, e a linha i + 1 nao pode ser
+ * escolhida se s(i, k - 1) for 1.</p>
+ *
+ * <p>O contador e' criado uma vez, com a largura da cobertura gulosa menos
+ * 1. A cada solucao encontrada, k passa a ser o tamanho dela menos 1 e so' as
+ * clausulas do novo limite sao adicionadas, entao o resolvedor continua com
+ * as clausulas que ja' aprendeu. A busca para quando a formula fica
+ * impossivel ou quando k fica menor que o limite inferior das colunas
+ * independentes.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class SatCoverSolver extends MinimumCoverSolver
+{
+    private static final long serialVersionUID = 1L;
+
+    SatSolver solver;
+    // counters[i][j] e' a variavel s(i, j) do contador sequencial
+    int[][] counters;
+
+    SatCoverSolver(long[][] linesOfTheMap, int[] candidateLines, long[] columnsToCover)
+    {
+        super(linesOfTheMap, candidateLines, columnsToCover);
+    }
+
+    @Override
+    int[] solve()
+    {
+        int numberOfColumns = columnsBits.length;
+        int[] minimumCover = new int[0];
+
+        if (numberOfColumns > 0)
+        {
+            findGreedyCover();
+
+            if (sizeOfBestChoice != Integer.MAX_VALUE)
+            {
+                int lowerBound = getLowerBound( Bits.createFull(numberOfColumns) );
+                int maximumNumberOfLines = sizeOfBestChoice - 1;
+                boolean isSatisfiable = true;
+
+                createFormula(maximumNumberOfLines);
+
+                while (isSatisfiable && maximumNumberOfLines >= lowerBound)
+                {
+                    addAtMostConstraint(maximumNumberOfLines);
+                    isSatisfiable = solver.solve();
+
+                    if (isSatisfiable)
+                    {
+                        saveTheCoverOfTheModel();
+                        maximumNumberOfLines = sizeOfBestChoice - 1;
+                    }
+                }
+
+                minimumCover = new int[sizeOfBestChoice];
+
+                for (int i = 0; i < sizeOfBestChoice; i++)
+                {
+                    minimumCover[i] = candidateLines[ bestChoice[i] ];
+                }
+            }
+        }
+
+        return minimumCover;
+    }
+
+    /**
+     * Cria as variaveis das linhas, uma clausula por coluna e o contador
+     * sequencial.
+     *
+     * @param width quantidade de variaveis do contador para cada linha, ou
+     * seja, o maior k que sera' usado
+     */
+
+    private void createFormula(int width)
+    {
+        int numberOfLines = linesBits.length;
+
+        solver = new SatSolver();
+
+        // a linha i e' a variavel i
+        for (int i = 0; i < numberOfLines; i++) solver.newVariable();
+
+        for (int j = 0; j < columnsBits.length; j++)
+        {
+            int[] clause = new int[ Bits.cardinality(columnsBits[j]) ];
+            int size = 0;
+
+            for (int i = Bits.nextSetBit(columnsBits[j], 0); i != -1; i = Bits.nextSetBit(columnsBits[j], i + 1))
+            {
+                clause[ size++ ] = SatSolver.getLiteral(i, false);
+            }
+
+            solver.addClause(clause);
+        }
+
+        counters = new int[numberOfLines][width];
+
+        for (int i = 0; i < numberOfLines; i++)
+        {
+            for (int j = 0; j < width; j++) counters[i][j] = solver.newVariable();
+        }
+
+        for (int i = 0; i < numberOfLines && width > 0; i++)
+        {
+            int line = SatSolver.getLiteral(i, true);
+
+            // linha i escolhida: pelo menos 1 escolhida ate' i
+            solver.addClause(line, SatSolver.getLiteral(counters[i][0], false));
+
+            for (int j = 0; j < width; j++)
+            {
+                int counter = SatSolver.getLiteral(counters[i][j], false);
+
+                if (i == 0)
+                {
+                    // so' uma linha ate' a linha 0
+                    if (j > 0) solver.addClause( SatSolver.getLiteral(counters[i][j], true) );
+                }
+
+                else
+                {
+                    // a contagem ate' i - 1 vale ate' i
+                    solver.addClause(SatSolver.getLiteral(counters[i - 1][j], true), counter);
+
+                    // j escolhidas ate' i - 1 mais a linha i
+                    if (j > 0)
+                    {
+                        solver.addClause(line, SatSolver.getLiteral(counters[i - 1][j - 1], true), counter);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Proibe coberturas com mais de {@code maximumNumberOfLines} linhas: a
+     * linha i nao pode ser escolhida se ja' havia {@code maximumNumberOfLines}
+     * linhas escolhidas antes dela.
+     */
+
+    private void addAtMostConstraint(int maximumNumberOfLines)
+    {
+        for (int i = 0; i < linesBits.length; i++)
+        {
+            int line = SatSolver.getLiteral(i, true);
+
+            if (maximumNumberOfLines == 0) solver.addClause(line);
+
+            else if (i > 0)
+            {
+                solver.addClause(line, SatSolver.getLiteral(counters[i - 1][maximumNumberOfLines - 1], true));
+            }
+        }
+    }
+
+    private void saveTheCoverOfTheModel()
+    {
+        sizeOfBestChoice = 0;
+
+        for (int i = 0; i < linesBits.length; i++)
+        {
+            if (solver.getValue(i)) bestChoice[ sizeOfBestChoice++ ] = i;
+        }
+    }
+}
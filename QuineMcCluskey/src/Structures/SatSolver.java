@@ -0,0 +1,750 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Resolvedor SAT do tipo CDCL (conflict-driven clause learning) para
+ * formulas em forma normal conjuntiva. A variavel v tem os literais 2v (v) e
+ * 2v + 1 (v'), entao o literal oposto de l e' {@code l ^ 1}.
+ *
+ * <ul>
+ *  <li>propagacao unitaria com dois literais vigiados por clausula: a
+ *  clausula so' e' visitada quando um dos dois primeiros literais dela fica
+ *  falso, e nada precisa ser desfeito ao voltar na busca;</li>
+ *  <li>cada conflito gera uma clausula aprendida pelo primeiro ponto de
+ *  implicacao unica (1UIP) e a busca volta direto para o segundo maior nivel
+ *  da clausula, onde ela propaga;</li>
+ *  <li>a variavel decidida e' a de maior atividade (VSIDS), que aumenta
+ *  sempre que a variavel participa de um conflito, e recebe o ultimo valor
+ *  que teve (phase saving), comecando com 0;</li>
+ *  <li>a busca recomeca do nivel 0 apos quantidades de conflitos que seguem
+ *  a sequencia de Luby, mantendo as clausulas aprendidas;</li>
+ *  <li>nos recomecos, quando ha' clausulas aprendidas demais, metade das que
+ *  envolvem mais niveis de decisao (LBD) e' descartada. As que envolvem ate'
+ *  2 niveis ficam para sempre.</li>
+ * </ul>
+ *
+ * <p>Clausulas podem ser adicionadas entre duas chamadas do metodo solve, o
+ * que permite apertar uma restricao sem perder o que ja' foi aprendido.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class SatSolver
+{
+    static final byte UNASSIGNED = 0;
+    static final byte TRUE = 1;
+    static final byte FALSE = -1;
+    // conflitos da primeira rodada antes do recomeco, multiplicados pela
+    // sequencia de Luby
+    static final int RESTART_UNIT = 100;
+    static final double ACTIVITY_DECAY = 0.95;
+    // clausulas aprendidas antes da primeira limpeza, aumentadas em 10% a
+    // cada limpeza
+    static final int MIN_LEARNT_CLAUSES_TO_REDUCE = 2000;
+    // clausulas aprendidas com LBD ate' este valor nunca sao descartadas
+    static final int MAX_LBD_TO_KEEP = 2;
+
+    int numberOfVariables;
+    // valor de cada literal: values[l] == TRUE se l e' verdadeiro
+    byte[] values;
+    // nivel de decisao e clausula que forcou o valor de cada variavel, -1 para
+    // decisoes e unitarias do nivel 0
+    int[] levels;
+    int[] reasons;
+    // ultimo valor de cada variavel, usado na proxima decisao dela
+    boolean[] savedPhases;
+    double[] activities;
+    double activityIncrement;
+    // heap de maximo das variaveis pela atividade
+    int[] heap;
+    int[] heapPositions;
+    int heapSize;
+
+    int[][] clauses;
+    // LBD de cada clausula aprendida e 0 nas clausulas adicionadas
+    int[] lbds;
+    int numberOfClauses;
+    int numberOfLearntClauses;
+    int maximumNumberOfLearntClauses;
+    // clausulas que vigiam cada literal, ou seja, que precisam ser visitadas
+    // quando o literal fica falso
+    int[][] watchers;
+    int[] numberOfWatchers;
+
+    // literais verdadeiros na ordem em que receberam o valor
+    int[] trail;
+    int trailSize;
+    // inicio de cada nivel de decisao no trail
+    int[] levelStarts;
+    int decisionLevel;
+    // proximo literal do trail a ser propagado
+    int propagationHead;
+    boolean[] seen;
+    // marca dos niveis ja' contados no calculo do LBD
+    long[] levelStamps;
+    long stamp;
+    // false quando alguma clausula adicionada ja' e' falsa no nivel 0
+    boolean isConsistent;
+    // valor de cada variavel na ultima solucao encontrada
+    boolean[] model;
+    long numberOfConflicts;
+
+    SatSolver()
+    {
+        numberOfVariables = 0;
+        values = new byte[16];
+        levels = new int[8];
+        reasons = new int[8];
+        savedPhases = new boolean[8];
+        activities = new double[8];
+        activityIncrement = 1;
+        heap = new int[8];
+        heapPositions = new int[8];
+        heapSize = 0;
+        clauses = new int[16][];
+        lbds = new int[16];
+        numberOfClauses = 0;
+        numberOfLearntClauses = 0;
+        maximumNumberOfLearntClauses = MIN_LEARNT_CLAUSES_TO_REDUCE;
+        watchers = new int[16][];
+        numberOfWatchers = new int[16];
+        trail = new int[8];
+        trailSize = 0;
+        levelStarts = new int[9];
+        decisionLevel = 0;
+        propagationHead = 0;
+        seen = new boolean[8];
+        levelStamps = new long[9];
+        stamp = 0;
+        isConsistent = true;
+        model = new boolean[0];
+        numberOfConflicts = 0;
+    }
+
+    static int getLiteral(int variable, boolean isNegated)
+    {
+        return 2 * variable + ( isNegated ? 1 : 0 );
+    }
+
+    /**
+     * Cria uma variavel nova.
+     *
+     * @return Indice da variavel.
+     */
+
+    int newVariable()
+    {
+        int variable = numberOfVariables++;
+
+        if (variable == levels.length)
+        {
+            int capacity = 2 * levels.length;
+
+            values = Arrays.copyOf(values, 2 * capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            reasons = Arrays.copyOf(reasons, capacity);
+            savedPhases = Arrays.copyOf(savedPhases, capacity);
+            activities = Arrays.copyOf(activities, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            heapPositions = Arrays.copyOf(heapPositions, capacity);
+            watchers = Arrays.copyOf(watchers, 2 * capacity);
+            numberOfWatchers = Arrays.copyOf(numberOfWatchers, 2 * capacity);
+            trail = Arrays.copyOf(trail, capacity);
+            levelStarts = Arrays.copyOf(levelStarts, capacity + 1);
+            seen = Arrays.copyOf(seen, capacity);
+            levelStamps = Arrays.copyOf(levelStamps, capacity + 1);
+        }
+
+        watchers[2 * variable] = new int[4];
+        watchers[2 * variable + 1] = new int[4];
+        reasons[variable] = -1;
+        insertInTheHeap(variable);
+
+        return variable;
+    }
+
+    /**
+     * Adiciona uma clausula, o OU dos literais recebidos. Deve ser chamado
+     * antes ou entre as chamadas do metodo solve.
+     *
+     * @param literals literais da clausula
+     *
+     * @return {@code false} caso a formula tenha ficado impossivel.
+     */
+
+    boolean addClause(int... literals)
+    {
+        int[] clause = new int[literals.length];
+        int size = 0;
+        boolean isSatisfied = false;
+
+        // no nivel 0, literais falsos podem ser retirados e uma clausula com
+        // um literal verdadeiro pode ser ignorada
+        for (int i = 0; !isSatisfied && i < literals.length; i++)
+        {
+            int literal = literals[i];
+
+            isSatisfied = ( values[literal] == TRUE || contains(clause, size, literal ^ 1) );
+
+            if (values[literal] == UNASSIGNED && !contains(clause, size, literal))
+            {
+                clause[ size++ ] = literal;
+            }
+        }
+
+        if (isConsistent && !isSatisfied)
+        {
+            if (size == 0) isConsistent = false;
+
+            else if (size == 1)
+            {
+                assign(clause[0], -1);
+                isConsistent = ( propagate() == -1 );
+            }
+
+            else attachClause(Arrays.copyOf(clause, size), 0);
+        }
+
+        return isConsistent;
+    }
+
+    private static boolean contains(int[] clause, int size, int literal)
+    {
+        boolean contains = false;
+
+        for (int i = 0; !contains && i < size; i++)
+        {
+            contains = ( clause[i] == literal );
+        }
+
+        return contains;
+    }
+
+    /**
+     * Guarda a clausula e passa a vigiar os dois primeiros literais dela.
+     *
+     * @return Indice da clausula.
+     */
+
+    private int attachClause(int[] clause, int lbd)
+    {
+        if (numberOfClauses == clauses.length)
+        {
+            clauses = Arrays.copyOf(clauses, 2 * clauses.length);
+            lbds = Arrays.copyOf(lbds, clauses.length);
+        }
+
+        int clauseIndex = numberOfClauses++;
+
+        clauses[clauseIndex] = clause;
+        lbds[clauseIndex] = lbd;
+        addWatcher(clause[0], clauseIndex);
+        addWatcher(clause[1], clauseIndex);
+
+        return clauseIndex;
+    }
+
+    private void addWatcher(int literal, int clauseIndex)
+    {
+        if (numberOfWatchers[literal] == watchers[literal].length)
+        {
+            watchers[literal] = Arrays.copyOf(watchers[literal], 2 * watchers[literal].length);
+        }
+
+        watchers[literal][ numberOfWatchers[literal]++ ] = clauseIndex;
+    }
+
+    private void assign(int literal, int reason)
+    {
+        int variable = literal >>> 1;
+
+        values[literal] = TRUE;
+        values[literal ^ 1] = FALSE;
+        levels[variable] = decisionLevel;
+        reasons[variable] = reason;
+        trail[ trailSize++ ] = literal;
+    }
+
+    /**
+     * Propaga os literais do trail que ainda nao foram propagados. Para cada
+     * literal que ficou falso, as clausulas que o vigiam procuram outro
+     * literal nao falso para vigiar; as que nao acham ficam unitarias, e o
+     * outro literal vigiado e' forcado, ou conflitantes.
+     *
+     * @return Indice da clausula em conflito ou -1 caso nao haja conflito.
+     */
+
+    private int propagate()
+    {
+        int conflict = -1;
+
+        while (conflict == -1 && propagationHead < trailSize)
+        {
+            int falseLiteral = trail[ propagationHead++ ] ^ 1;
+            int[] watchersOfTheLiteral = watchers[falseLiteral];
+            int size = numberOfWatchers[falseLiteral];
+            int kept = 0;
+            int i = 0;
+
+            while (i < size)
+            {
+                int clauseIndex = watchersOfTheLiteral[ i++ ];
+                int[] clause = clauses[clauseIndex];
+
+                // o literal falso fica na posicao 1
+                if (clause[0] == falseLiteral)
+                {
+                    clause[0] = clause[1];
+                    clause[1] = falseLiteral;
+                }
+
+                if (values[ clause[0] ] == TRUE) watchersOfTheLiteral[ kept++ ] = clauseIndex;
+
+                else
+                {
+                    int k = 2;
+
+                    while (k < clause.length && values[ clause[k] ] == FALSE) k++;
+
+                    if (k < clause.length)
+                    {
+                        clause[1] = clause[k];
+                        clause[k] = falseLiteral;
+                        addWatcher(clause[1], clauseIndex);
+                    }
+
+                    else
+                    {
+                        watchersOfTheLiteral[ kept++ ] = clauseIndex;
+
+                        if (values[ clause[0] ] == FALSE)
+                        {
+                            conflict = clauseIndex;
+
+                            // mantem os vigias que ainda nao foram visitados
+                            while (i < size) watchersOfTheLiteral[ kept++ ] = watchersOfTheLiteral[ i++ ];
+                        }
+
+                        else assign(clause[0], clauseIndex);
+                    }
+                }
+            }
+
+            numberOfWatchers[falseLiteral] = kept;
+        }
+
+        return conflict;
+    }
+
+    /**
+     * Analisa o conflito voltando pelo trail ate' sobrar um unico literal do
+     * nivel atual na clausula (1UIP).
+     *
+     * @param conflict clausula em conflito
+     *
+     * @return Clausula aprendida, com o literal do nivel atual na posicao 0 e
+     * o de maior nivel dentre os outros na posicao 1.
+     */
+
+    private int[] analyze(int conflict)
+    {
+        int[] learnt = new int[decisionLevel + 1];
+        int size = 1;
+        int pathCount = 0;
+        int literal = -1;
+        int index = trailSize - 1;
+        int[] reason = clauses[conflict];
+
+        do
+        {
+            for (int k = ( literal == -1 ? 0 : 1 ); k < reason.length; k++)
+            {
+                int reasonLiteral = reason[k];
+                int variable = reasonLiteral >>> 1;
+
+                if (!seen[variable] && levels[variable] > 0)
+                {
+                    seen[variable] = true;
+                    bumpActivity(variable);
+
+                    if (levels[variable] == decisionLevel) pathCount++;
+
+                    else
+                    {
+                        if (size == learnt.length) learnt = Arrays.copyOf(learnt, 2 * learnt.length);
+
+                        learnt[ size++ ] = reasonLiteral;
+                    }
+                }
+            }
+
+            // proximo literal do nivel atual marcado, de tras para frente
+            while (!seen[ trail[index] >>> 1 ]) index--;
+
+            literal = trail[ index-- ];
+            seen[literal >>> 1] = false;
+            pathCount--;
+
+            if (pathCount > 0) reason = clauses[ reasons[literal >>> 1] ];
+
+        } while (pathCount > 0);
+
+        learnt[0] = literal ^ 1;
+
+        int highestLevelIndex = 1;
+
+        for (int k = 1; k < size; k++)
+        {
+            seen[ learnt[k] >>> 1 ] = false;
+
+            if (levels[ learnt[k] >>> 1 ] > levels[ learnt[highestLevelIndex] >>> 1 ])
+            {
+                highestLevelIndex = k;
+            }
+        }
+
+        if (size > 1)
+        {
+            int highestLevelLiteral = learnt[highestLevelIndex];
+
+            learnt[highestLevelIndex] = learnt[1];
+            learnt[1] = highestLevelLiteral;
+        }
+
+        return Arrays.copyOf(learnt, size);
+    }
+
+    /**
+     * @return Quantidade de niveis de decisao diferentes dos literais da
+     * clausula (literal block distance).
+     */
+
+    private int getLbd(int[] clause)
+    {
+        int lbd = 0;
+
+        stamp++;
+
+        for (int k = 0; k < clause.length; k++)
+        {
+            int level = levels[ clause[k] >>> 1 ];
+
+            if (levelStamps[level] != stamp)
+            {
+                levelStamps[level] = stamp;
+                lbd++;
+            }
+        }
+
+        return lbd;
+    }
+
+    /**
+     * Descarta metade das clausulas aprendidas com LBD maior que
+     * {@code MAX_LBD_TO_KEEP}, comecando pelas de maior LBD, e refaz os
+     * vigias. Deve ser chamado no nivel 0, em que nenhuma clausula e' razao
+     * de uma variavel que possa aparecer na analise de um conflito.
+     */
+
+    private void reduceLearntClauses()
+    {
+        long[] candidates = new long[numberOfLearntClauses];
+        int numberOfCandidates = 0;
+
+        for (int c = 0; c < numberOfClauses; c++)
+        {
+            if (lbds[c] > MAX_LBD_TO_KEEP) candidates[ numberOfCandidates++ ] = ( (long) lbds[c] << 32 ) | c;
+        }
+
+        Arrays.sort(candidates, 0, numberOfCandidates);
+
+        // as de maior LBD ficam no fim
+        for (int k = numberOfCandidates / 2; k < numberOfCandidates; k++)
+        {
+            clauses[ (int) candidates[k] ] = null;
+        }
+
+        int kept = 0;
+
+        for (int c = 0; c < numberOfClauses; c++)
+        {
+            if (clauses[c] != null)
+            {
+                clauses[kept] = clauses[c];
+                lbds[kept] = lbds[c];
+                kept++;
+            }
+        }
+
+        numberOfLearntClauses -= numberOfCandidates - numberOfCandidates / 2;
+        numberOfClauses = kept;
+        Arrays.fill(numberOfWatchers, 0);
+
+        for (int c = 0; c < numberOfClauses; c++)
+        {
+            addWatcher(clauses[c][0], c);
+            addWatcher(clauses[c][1], c);
+        }
+
+        // os indices mudaram, e as razoes do nivel 0 nao sao usadas
+        for (int i = 0; i < trailSize; i++) reasons[ trail[i] >>> 1 ] = -1;
+
+        maximumNumberOfLearntClauses += maximumNumberOfLearntClauses / 10;
+    }
+
+    /**
+     * Desfaz as atribuicoes dos niveis acima do recebido, guardando o valor
+     * de cada variavel para a proxima decisao dela.
+     */
+
+    private void backtrack(int level)
+    {
+        if (decisionLevel > level)
+        {
+            for (int i = trailSize - 1; i >= levelStarts[level + 1]; i--)
+            {
+                int literal = trail[i];
+                int variable = literal >>> 1;
+
+                savedPhases[variable] = ( ( literal & 1 ) == 0 );
+                values[literal] = values[literal ^ 1] = UNASSIGNED;
+                reasons[variable] = -1;
+
+                if (heapPositions[variable] == -1) insertInTheHeap(variable);
+            }
+
+            trailSize = levelStarts[level + 1];
+            propagationHead = trailSize;
+            decisionLevel = level;
+        }
+    }
+
+    /**
+     * Procura uma atribuicao que satisfaca todas as clausulas. Ao final a
+     * busca volta para o nivel 0, entao mais clausulas podem ser
+     * adicionadas e o metodo pode ser chamado de novo.
+     *
+     * @return {@code true} se a formula for satisfazivel. Nesse caso os
+     * valores das variaveis ficam disponiveis no metodo getValue.
+     */
+
+    boolean solve()
+    {
+        boolean isSatisfiable = false;
+        boolean isDecided = !isConsistent;
+        int restarts = 0;
+
+        while (!isDecided)
+        {
+            long conflictsUntilTheRestart = RESTART_UNIT * getLubyNumber(restarts++);
+            int status = search(conflictsUntilTheRestart);
+
+            isDecided = ( status != 0 );
+            isSatisfiable = ( status > 0 );
+
+            if (!isDecided && numberOfLearntClauses > maximumNumberOfLearntClauses) reduceLearntClauses();
+        }
+
+        if (isSatisfiable)
+        {
+            model = new boolean[numberOfVariables];
+
+            for (int variable = 0; variable < numberOfVariables; variable++)
+            {
+                model[variable] = ( values[2 * variable] == TRUE );
+            }
+        }
+
+        backtrack(0);
+
+        return isSatisfiable;
+    }
+
+    /**
+     * Busca ate' encontrar uma solucao, provar que nao ha' solucao ou chegar
+     * no limite de conflitos.
+     *
+     * @return 1 se achou uma solucao, -1 se nao ha' solucao e 0 se a busca
+     * parou no limite de conflitos, ja' de volta no nivel 0.
+     */
+
+    private int search(long maximumNumberOfConflicts)
+    {
+        int status = 0;
+        long conflicts = 0;
+
+        while (status == 0 && conflicts < maximumNumberOfConflicts)
+        {
+            int conflict = propagate();
+
+            if (conflict != -1)
+            {
+                conflicts++;
+                numberOfConflicts++;
+
+                if (decisionLevel == 0)
+                {
+                    isConsistent = false;
+                    status = -1;
+                }
+
+                else
+                {
+                    int[] learnt = analyze(conflict);
+                    int lbd = getLbd(learnt);
+
+                    backtrack( learnt.length > 1 ? levels[ learnt[1] >>> 1 ] : 0 );
+
+                    if (learnt.length == 1) assign(learnt[0], -1);
+
+                    else
+                    {
+                        assign(learnt[0], attachClause(learnt, lbd));
+                        numberOfLearntClauses++;
+                    }
+
+                    activityIncrement /= ACTIVITY_DECAY;
+                }
+            }
+
+            else
+            {
+                int variable = getNextDecisionVariable();
+
+                if (variable == -1) status = 1;
+
+                else
+                {
+                    levelStarts[ ++decisionLevel ] = trailSize;
+                    assign(getLiteral(variable, !savedPhases[variable]), -1);
+                }
+            }
+        }
+
+        if (status == 0) backtrack(0);
+
+        return status;
+    }
+
+    /**
+     * @return Elemento {@code i} da sequencia de Luby: 1, 1, 2, 1, 1, 2, 4,
+     * 1, 1, 2, 1, 1, 2, 4, 8, ...
+     */
+
+    private static long getLubyNumber(int i)
+    {
+        // encontra a menor subsequencia completa, de tamanho 2 ^ k - 1, que
+        // contem o elemento i
+        int size = 1;
+        int k = 0;
+
+        while (size < i + 1)
+        {
+            size = 2 * size + 1;
+            k++;
+        }
+
+        while (size - 1 != i)
+        {
+            size = ( size - 1 ) / 2;
+            k--;
+            i %= size;
+        }
+
+        return 1L << k;
+    }
+
+    boolean getValue(int variable)
+    {
+        return model[variable];
+    }
+
+    private int getNextDecisionVariable()
+    {
+        int variable = -1;
+
+        while (variable == -1 && heapSize > 0)
+        {
+            int top = removeTheTopOfTheHeap();
+
+            if (values[2 * top] == UNASSIGNED) variable = top;
+        }
+
+        return variable;
+    }
+
+    private void bumpActivity(int variable)
+    {
+        activities[variable] += activityIncrement;
+
+        // mantem as atividades representaveis, preservando a ordem
+        if (activities[variable] > 1e100)
+        {
+            for (int v = 0; v < numberOfVariables; v++) activities[v] *= 1e-100;
+
+            activityIncrement *= 1e-100;
+        }
+
+        if (heapPositions[variable] != -1) moveUp( heapPositions[variable] );
+    }
+
+    private void insertInTheHeap(int variable)
+    {
+        heap[heapSize] = variable;
+        heapPositions[variable] = heapSize;
+        moveUp( heapSize++ );
+    }
+
+    private int removeTheTopOfTheHeap()
+    {
+        int top = heap[0];
+
+        heap[0] = heap[ --heapSize ];
+        heapPositions[ heap[0] ] = 0;
+        heapPositions[top] = -1;
+
+        if (heapSize > 0) moveDown(0);
+
+        return top;
+    }
+
+    private void moveUp(int position)
+    {
+        int variable = heap[position];
+
+        while (position > 0 && activities[ heap[ ( position - 1 ) / 2 ] ] < activities[variable])
+        {
+            heap[position] = heap[ ( position - 1 ) / 2 ];
+            heapPositions[ heap[position] ] = position;
+            position = ( position - 1 ) / 2;
+        }
+
+        heap[position] = variable;
+        heapPositions[variable] = position;
+    }
+
+    private void moveDown(int position)
+    {
+        int variable = heap[position];
+        int child = 2 * position + 1;
+
+        while (child < heapSize)
+        {
+            if (child + 1 < heapSize && activities[ heap[child + 1] ] > activities[ heap[child] ]) child++;
+
+            if (activities[ heap[child] ] > activities[variable])
+            {
+                heap[position] = heap[child];
+                heapPositions[ heap[position] ] = position;
+                position = child;
+                child = 2 * position + 1;
+            }
+
+            else child = heapSize;
+        }
+
+        heap[position] = variable;
+        heapPositions[variable] = position;
+    }
+}
@@ -0,0 +1,82 @@
+package Structures;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Gera todos os primos implicantes de uma funcao logica dividindo a tabela
+ * verdade recursivamente pela expansao de Shannon (veja a classe
+ * {@code CofactorTask}), sem montar os niveis do metodo
+ * MintermTable.groupMinterms.
+ *
+ * <p>Sub-tabelas iguais sao resolvidas uma vez so', entao tabelas com
+ * estrutura repetida, como as de logica de controle, custam bem menos que as
+ * 2 ^ n entradas. As sub-tabelas resolvidas ficam guardadas enquanto couberem
+ * no orcamento de memoria da tabela de mintermos. As sub-tabelas grandes sao divididas entre as threads do
+ * {@code ForkJoinPool} comum.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class ShannonPrimeGenerator
+{
+    // o valor e a mascara de cada primo sao guardados em 32 bits cada um
+    static final int MAX_VARIABLES = 31;
+
+    /**
+     * Decide se os primos implicantes da tabela de mintermos devem ser
+     * gerados por esta classe em vez do metodo MintermTable.groupMinterms.
+     * Com ate' {@code TernaryPrimeGenerator.MAX_VARIABLES} variaveis o
+     * agrupamento e a programacao dinamica ternaria ja' sao viaveis; acima
+     * disso os niveis do agrupamento ficam grandes demais e o arranjo da
+     * programacao dinamica nao cabe na memoria.
+     *
+     * @param mintermsTable tabela gerada pelo metodo MintermTable.getMintermsTable
+     *
+     * @return {@code true} se a funcao tiver mais de
+     * {@code TernaryPrimeGenerator.MAX_VARIABLES} e no maximo
+     * {@code MAX_VARIABLES} variaveis, e nenhum mintermo alem de
+     * 2 ^ numberOfVariables, pelo mesmo motivo do metodo
+     * TernaryPrimeGenerator.isPreferredFor.
+     */
+
+    public static boolean isPreferredFor(MintermTable mintermsTable)
+    {
+        int numberOfVariables = ( mintermsTable != null ? mintermsTable.numberOfVariables : 0 );
+
+        return numberOfVariables > TernaryPrimeGenerator.MAX_VARIABLES && numberOfVariables <= MAX_VARIABLES &&
+                mintermsTable.getNumberOfVariablesOfTheCubes() == numberOfVariables;
+    }
+
+    /**
+     * Gera a tabela com todos os primos implicantes da funcao cujos mintermos
+     * estao em {@code mintermsTable}. A tabela gerada e' a mesma do metodo
+     * TernaryPrimeGenerator.getPrimeImplicants e pode ser passada
+     * diretamente para o metodo CoverageMap.getCoverageMap.
+     *
+     * @param mintermsTable tabela de mintermos da funcao logica
+     *
+     * @return Tabela nao simplificavel com os primos implicantes da funcao.
+     *
+     * @throws IllegalArgumentException caso a funcao tenha mais de
+     * {@code MAX_VARIABLES} variaveis.
+     */
+
+    public static MintermTable getPrimeImplicants(MintermTable mintermsTable)
+    {
+        int numberOfVariables = mintermsTable.getNumberOfVariablesOfTheCubes();
+
+        if (numberOfVariables > MAX_VARIABLES)
+        {
+            throw new IllegalArgumentException(
+                    "A funcao tem " + numberOfVariables + " variaveis, o maximo e' " + MAX_VARIABLES);
+        }
+
+        CofactorTask task = new CofactorTask(
+                new TruthTable(mintermsTable, numberOfVariables),
+                mintermsTable.getMemoryBudget());
+        long[] primes = ForkJoinPool.commonPool().invoke(task);
+
+        return MintermTable.getPrimesTable(primes, numberOfVariables,
+                mintermsTable.getStorageMode(), mintermsTable.getMemoryBudget());
+    }
+}
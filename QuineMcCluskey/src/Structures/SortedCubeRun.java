@@ -0,0 +1,272 @@
+package Structures;
+
+import Util.Bits;
+
+/**
+ * Indice de cubos em disco usado no lugar do {@code CubeIndex} quando os
+ * cubos de um nivel estao num arquivo mapeado. Guarda um registro (chave,
+ * linha) por cubo distinto, em ordem crescente de chave, num
+ * {@code MappedLongFile}, e procura os cubos por busca binaria.
+ *
+ * <p>A chave de um cubo e' a mascara nos 32 bits altos e o valor nos 32 bits
+ * baixos. Como a tabela verdade e' uma string, as funcoes tem no maximo 31
+ * variaveis, entao a chave nunca fica negativa e a ordem das chaves e' a
+ * ordem por (mascara, valor).</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class SortedCubeRun
+{
+    // registro i: chave na posicao 2i e linha na posicao 2i + 1
+    MappedLongFile records;
+    int numberOfCubes;
+
+    private SortedCubeRun(MappedLongFile records, int numberOfCubes)
+    {
+        this.records = records;
+        this.numberOfCubes = numberOfCubes;
+    }
+
+    static long getKey(long cubeValue, long cubeDashMask)
+    {
+        return ( cubeDashMask << 32 ) | cubeValue;
+    }
+
+    /**
+     * Ordena os cubos por ordenacao externa: cada trecho de
+     * {@code recordsPerRun} cubos e' ordenado na memoria e gravado em disco, e
+     * depois todos os trechos sao intercalados. Durante a intercalacao os
+     * cubos repetidos ficam lado a lado e apenas a primeira linha de cada cubo
+     * e' mantida. Por fim, os cubos sao compactados no proprio
+     * {@code CubeStorage}, na ordem original, sem as linhas repetidas.
+     *
+     * @param cubes cubos da tabela, que serao compactados
+     * @param numberOfLines quantidade de linhas da tabela
+     * @param recordsPerRun quantidade de cubos ordenados na memoria de uma vez
+     *
+     * @return Indice com os cubos distintos, cuja quantidade e' a nova
+     * quantidade de linhas da tabela.
+     */
+
+    static SortedCubeRun build(CubeStorage cubes, int numberOfLines, int recordsPerRun)
+    {
+        int runLength = Math.max(1, Math.min(recordsPerRun, numberOfLines));
+        int numberOfRuns = ( numberOfLines + runLength - 1 ) / runLength;
+        MappedLongFile runs = new MappedLongFile(2L * numberOfLines);
+        long[] keys = new long[runLength];
+        int[] lines = new int[runLength];
+        long[] keysBuffer = new long[runLength];
+        int[] linesBuffer = new int[runLength];
+
+        // 1. grava os trechos ordenados
+        for (int first = 0; first < numberOfLines; first += runLength)
+        {
+            int count = Math.min(runLength, numberOfLines - first);
+
+            for (int k = 0; k < count; k++)
+            {
+                keys[k] = getKey(cubes.getCubeValue(first + k), cubes.getCubeDashMask(first + k));
+                lines[k] = first + k;
+            }
+
+            mergeSort(keys, lines, keysBuffer, linesBuffer, count);
+
+            for (int k = 0; k < count; k++)
+            {
+                runs.put(2 * ( first + k ), keys[k]);
+                runs.put(2 * ( first + k ) + 1, lines[k]);
+            }
+        }
+
+        // 2. intercala os trechos. Cada trecho tem linhas menores que as do
+        // proximo, entao, em chaves iguais, o trecho de menor indice sai antes
+        // e a primeira linha de cada cubo e' a que fica
+        MappedLongFile records = new MappedLongFile(2L * numberOfLines);
+        long[] duplicatedLines = Bits.create(numberOfLines);
+        int[] heads = new int[numberOfRuns];
+        int[] heap = new int[numberOfRuns];
+        int heapSize = numberOfRuns;
+        int numberOfCubes = 0;
+        long previousKey = -1;
+
+        for (int r = 0; r < numberOfRuns; r++)
+        {
+            heads[r] = r * runLength;
+            heap[r] = r;
+        }
+
+        for (int i = heapSize / 2 - 1; i > -1; i--)
+        {
+            siftDown(heap, heapSize, i, heads, runs);
+        }
+
+        while (heapSize > 0)
+        {
+            int run = heap[0];
+            long key = runs.get(2 * heads[run]);
+            int line = (int) runs.get(2 * heads[run] + 1);
+
+            if (key == previousKey)
+            {
+                Bits.set(duplicatedLines, line);
+            }
+
+            else
+            {
+                records.put(2 * numberOfCubes, key);
+                records.put(2 * numberOfCubes + 1, line);
+                numberOfCubes++;
+                previousKey = key;
+            }
+
+            if (++heads[run] == Math.min(numberOfLines, ( run + 1 ) * runLength))
+            {
+                heap[0] = heap[--heapSize];
+            }
+
+            siftDown(heap, heapSize, 0, heads, runs);
+        }
+
+        runs.close();
+
+        // 3. compacta os cubos e renumera as linhas dos registros. keptLinesBefore[w]
+        // guarda quantas linhas foram mantidas antes da linha 64 * w
+        int[] keptLinesBefore = new int[duplicatedLines.length];
+        int keptLines = 0;
+
+        for (int line = 0; line < numberOfLines; line++)
+        {
+            if (( line & 63 ) == 0)
+            {
+                keptLinesBefore[line >>> 6] = keptLines;
+            }
+
+            if (!Bits.get(duplicatedLines, line))
+            {
+                cubes.setCube(keptLines++, cubes.getCubeValue(line), cubes.getCubeDashMask(line));
+            }
+        }
+
+        for (int i = 0; i < numberOfCubes; i++)
+        {
+            int line = (int) records.get(2 * i + 1);
+            long keptBits = ~duplicatedLines[line >>> 6] & ( ( 1L << line ) - 1 );
+
+            records.put(2 * i + 1, keptLinesBefore[line >>> 6] + Long.bitCount(keptBits));
+        }
+
+        return new SortedCubeRun(records, numberOfCubes);
+    }
+
+    /**
+     * Compara a cabeca de dois trechos: primeiro pela chave e, em chaves
+     * iguais, pelo indice do trecho.
+     */
+
+    private static boolean isLess(int run1, int run2, int[] heads, MappedLongFile runs)
+    {
+        long key1 = runs.get(2 * heads[run1]);
+        long key2 = runs.get(2 * heads[run2]);
+
+        return ( key1 < key2 || ( key1 == key2 && run1 < run2 ) );
+    }
+
+    private static void siftDown(int[] heap, int heapSize, int position, int[] heads, MappedLongFile runs)
+    {
+        int smallest = position;
+        boolean moved = true;
+
+        while (moved)
+        {
+            int left = 2 * position + 1;
+            int right = left + 1;
+
+            if (left < heapSize && isLess(heap[left], heap[smallest], heads, runs)) smallest = left;
+            if (right < heapSize && isLess(heap[right], heap[smallest], heads, runs)) smallest = right;
+
+            moved = ( smallest != position );
+
+            if (moved)
+            {
+                int run = heap[position];
+                heap[position] = heap[smallest];
+                heap[smallest] = run;
+                position = smallest;
+            }
+        }
+    }
+
+    /**
+     * Ordena os {@code count} primeiros pares (chave, linha) pela chave,
+     * mantendo a ordem original dos pares com chaves iguais.
+     */
+
+    private static void mergeSort(long[] keys, int[] lines, long[] keysBuffer, int[] linesBuffer, int count)
+    {
+        for (int width = 1; width < count; width *= 2)
+        {
+            for (int left = 0; left < count; left += 2 * width)
+            {
+                int middle = Math.min(left + width, count);
+                int right = Math.min(left + 2 * width, count);
+                int i = left;
+                int j = middle;
+
+                for (int k = left; k < right; k++)
+                {
+                    if (i < middle && ( j >= right || keys[i] <= keys[j] ))
+                    {
+                        keysBuffer[k] = keys[i];
+                        linesBuffer[k] = lines[i++];
+                    }
+
+                    else
+                    {
+                        keysBuffer[k] = keys[j];
+                        linesBuffer[k] = lines[j++];
+                    }
+                }
+            }
+
+            System.arraycopy(keysBuffer, 0, keys, 0, count);
+            System.arraycopy(linesBuffer, 0, lines, 0, count);
+        }
+    }
+
+    /**
+     * Procura o cubo por busca binaria nos registros.
+     *
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     *
+     * @return Indice da linha do cubo na tabela ou -1 caso ele nao exista.
+     */
+
+    int indexOf(long cubeValue, long cubeDashMask)
+    {
+        long key = getKey(cubeValue, cubeDashMask);
+        int low = 0;
+        int high = numberOfCubes - 1;
+        int line = -1;
+
+        while (line == -1 && low <= high)
+        {
+            int middle = ( low + high ) >>> 1;
+            long middleKey = records.get(2 * middle);
+
+            if (middleKey < key) low = middle + 1;
+
+            else if (middleKey > key) high = middle - 1;
+
+            else line = (int) records.get(2 * middle + 1);
+        }
+
+        return line;
+    }
+
+    void release()
+    {
+        records.close();
+    }
+}
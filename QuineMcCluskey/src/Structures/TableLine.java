@@ -1,6 +1,7 @@
 package Structures;
 
 import Util.IO;
+import Util.MATH;
 
 /**
  * @author Axell Brendow ( https://github.com/axell-brendow )
@@ -8,13 +9,91 @@ import Util.IO;
 
 public class TableLine
 {
-    int[] mintermsAsDecimal;
+    // representacao em caracteres, gerada na primeira vez que for pedida
     char[] mintermAsBinary;
+    // representacao compacta do cubo: o bit i de cubeValue guarda o valor da
+    // variavel i e o bit i de cubeDashMask indica se ela foi eliminada ('_')
+    long cubeValue;
+    long cubeDashMask;
+    int numberOfVariables;
 
-    public TableLine(int[] mintermsAsDecimal, char[] mintermAsBinary)
+    /**
+     * Cria uma linha de tabela a partir da representacao compacta do cubo.
+     * A linha guarda apenas o cubo: a representacao em caracteres e os
+     * mintermos cobertos so' sao gerados quando alguem pedir por eles.
+     * 
+     * @param cubeValue bits com os valores das variaveis do cubo
+     * @param cubeDashMask bits ligados nas variaveis eliminadas do cubo
+     * @param numberOfVariables quantidade de variaveis da funcao logica
+     */
+
+    public TableLine(long cubeValue, long cubeDashMask, int numberOfVariables)
+    {
+        this.mintermAsBinary = null;
+        this.cubeValue = cubeValue;
+        this.cubeDashMask = cubeDashMask;
+        this.numberOfVariables = numberOfVariables;
+    }
+
+    /**
+     * Obtem a representacao binaria da linha, no modo little endian, com '_'
+     * (underline) nas variaveis eliminadas, gerada a partir do cubo compacto
+     * na primeira chamada.
+     * 
+     * @return Representacao binaria da linha no modo little endian.
+     */
+
+    public char[] getMintermAsBinary()
     {
-        this.mintermsAsDecimal = mintermsAsDecimal;
-        this.mintermAsBinary = mintermAsBinary;
+        if (mintermAsBinary == null)
+        {
+            mintermAsBinary = MATH.cubeToBinary(cubeValue, cubeDashMask, numberOfVariables);
+        }
+
+        return mintermAsBinary;
+    }
+
+    /**
+     * Obtem os mintermos cobertos pela linha. Um novo arranjo e' gerado a cada
+     * chamada percorrendo as combinacoes de bits da mascara em ordem
+     * crescente, portanto os mintermos saem ordenados. Nada e' guardado na
+     * linha.
+     * 
+     * <p>Ex: o cubo { '_', '1', '_' } gera { 2, 3, 6, 7 }</p>
+     * 
+     * @return Arranjo com os mintermos cobertos pela linha.
+     */
+
+    public int[] getMintermsAsDecimal()
+    {
+        return getMintermsAsDecimal(cubeValue, cubeDashMask);
+    }
+
+    /**
+     * Gera os mintermos cobertos por um cubo compacto em ordem crescente.
+     * 
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     * 
+     * @return Arranjo com os mintermos cobertos pelo cubo.
+     */
+
+    public static int[] getMintermsAsDecimal(long cubeValue, long cubeDashMask)
+    {
+        int[] minterms = new int[ 1 << Long.bitCount(cubeDashMask) ];
+        long submask = 0;
+        int mintermsCounter = 0;
+
+        do
+        {
+            minterms[ mintermsCounter++ ] = (int) ( cubeValue | submask );
+
+            // proxima combinacao de bits da mascara em ordem crescente
+            submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+        } while (submask != 0);
+
+        return minterms;
     }
 
     /**
@@ -44,7 +123,7 @@ public class TableLine
 
     public String getBinaryRepresentation()
     {
-        return getBinaryRepresentation(mintermAsBinary);
+        return getBinaryRepresentation(getMintermAsBinary());
     }
 
     /**
@@ -58,11 +137,12 @@ public class TableLine
 
     public String getDecimalRepresentation()
     {
-        String decimals = "{ " + mintermsAsDecimal[0];
+        int[] minterms = getMintermsAsDecimal();
+        String decimals = "{ " + minterms[0];
 
-        for (int i = 1; i < mintermsAsDecimal.length; i++)
+        for (int i = 1; i < minterms.length; i++)
         {
-            decimals += ", " + mintermsAsDecimal[i];
+            decimals += ", " + minterms[i];
         }
 
         decimals += " }";
@@ -0,0 +1,230 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Gera todos os primos implicantes de uma funcao logica por programacao
+ * dinamica sobre os 3^n cubos ternarios, sem montar os niveis do metodo
+ * MintermTable.groupMinterms.
+ *
+ * <p>Cada cubo de n variaveis e' um numero na base 3 em que o digito i vale 0
+ * ou 1, se a variavel i tem esse valor, ou 2, se ela foi eliminada. Um cubo
+ * com a variavel i eliminada e' implicante se, e somente se, os dois cubos
+ * com essa variavel em 0 e em 1 forem implicantes. Como esses dois cubos tem
+ * indices menores, basta percorrer os cubos em ordem crescente. Um
+ * implicante e' primo se nenhum cubo com uma variavel a mais eliminada for
+ * implicante. Os dois passos custam O(n * 3^n) e usam um arranjo de 3^n
+ * bytes.</p>
+ *
+ * <p>Para funcoes densas os niveis do Quine-McCluskey chegam perto de 3^n
+ * linhas e cada nivel ainda precisa combinar as linhas do anterior, entao a
+ * programacao dinamica e' escolhida pelo metodo isPreferredFor quando a
+ * funcao tem muitos mintermos e o arranjo cabe na memoria.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class TernaryPrimeGenerator
+{
+    // abaixo disso o agrupamento por niveis ja' e' instantaneo e mostra os niveis
+    static final int MIN_VARIABLES = 10;
+    // 3^16 bytes = 43 MB. Com 17 variaveis o arranjo passaria de 120 MB
+    static final int MAX_VARIABLES = 16;
+    // fracao minima de mintermos. Com 0.5 o agrupamento ainda empata com a programacao dinamica
+    static final double MIN_DENSITY = 0.6;
+
+    // flags de cada cubo no arranjo da programacao dinamica
+    private static final byte IMPLICANT = 1;
+    private static final byte NOT_PRIME = 2;
+
+    /**
+     * Decide se os primos implicantes da tabela de mintermos devem ser
+     * gerados por esta classe em vez do metodo MintermTable.groupMinterms.
+     *
+     * @param mintermsTable tabela gerada pelo metodo MintermTable.getMintermsTable
+     *
+     * @return {@code true} se a funcao tiver entre {@code MIN_VARIABLES} e
+     * {@code MAX_VARIABLES} variaveis, pelo menos {@code MIN_DENSITY} dos
+     * mintermos possiveis e nenhum mintermo alem de 2 ^ numberOfVariables.
+     * Nesse ultimo caso o agrupamento nunca elimina a variavel extra, mas a
+     * programacao dinamica elimina, entao os primos seriam diferentes.
+     */
+
+    public static boolean isPreferredFor(MintermTable mintermsTable)
+    {
+        int numberOfVariables = ( mintermsTable != null ? mintermsTable.numberOfVariables : 0 );
+
+        return numberOfVariables >= MIN_VARIABLES && numberOfVariables <= MAX_VARIABLES &&
+                mintermsTable.numberOfLines >= MIN_DENSITY * ( 1 << numberOfVariables ) &&
+                mintermsTable.getNumberOfVariablesOfTheCubes() == numberOfVariables;
+    }
+
+    /**
+     * Gera a tabela com todos os primos implicantes da funcao cujos mintermos
+     * estao em {@code mintermsTable}. A tabela gerada pode ser passada
+     * diretamente para o metodo CoverageMap.getCoverageMap.
+     *
+     * <p>As linhas ficam em ordem crescente de variaveis eliminadas, como nos
+     * niveis do agrupamento, e depois pela mascara e pelo valor dos cubos.</p>
+     *
+     * @param mintermsTable tabela de mintermos da funcao logica
+     *
+     * @return Tabela nao simplificavel com os primos implicantes da funcao.
+     */
+
+    public static MintermTable getPrimeImplicants(MintermTable mintermsTable)
+    {
+        int numberOfVariables = mintermsTable.getNumberOfVariablesOfTheCubes();
+        int[] powersOf3 = new int[numberOfVariables + 1];
+
+        powersOf3[0] = 1;
+
+        for (int i = 1; i <= numberOfVariables; i++)
+        {
+            powersOf3[i] = powersOf3[i - 1] * 3;
+        }
+
+        byte[] cubes = new byte[ powersOf3[numberOfVariables] ];
+
+        markImplicants(cubes, mintermsTable, numberOfVariables, powersOf3);
+
+        long[] primes = getPrimes(cubes, numberOfVariables, powersOf3);
+
+        return MintermTable.getPrimesTable(primes, numberOfVariables,
+                mintermsTable.getStorageMode(), mintermsTable.getMemoryBudget());
+    }
+
+    /**
+     * Marca como implicante cada cubo cujos mintermos estao todos na tabela.
+     */
+
+    private static void markImplicants(byte[] cubes, MintermTable mintermsTable, int numberOfVariables, int[] powersOf3)
+    {
+        long submask;
+
+        // cubos sem variaveis eliminadas: os proprios mintermos
+        for (int i = 0; i < mintermsTable.numberOfLines; i++)
+        {
+            long cubeValue = mintermsTable.getCubeValue(i);
+            long cubeDashMask = mintermsTable.getCubeDashMask(i);
+            submask = 0;
+
+            do
+            {
+                cubes[ getTernaryIndex(cubeValue | submask, numberOfVariables, powersOf3) ] = IMPLICANT;
+                submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+            } while (submask != 0);
+        }
+
+        // digitos do cubo atual. O valor e a mascara acompanham os digitos
+        int[] digits = new int[numberOfVariables + 1];
+        long cubeValue = 0;
+        long cubeDashMask = 0;
+
+        for (int cube = 1; cube < cubes.length; cube++)
+        {
+            // soma 1 ao numero na base 3
+            int i = 0;
+
+            while (digits[i] == 2)
+            {
+                digits[i] = 0;
+                cubeDashMask &= ~( 1L << i );
+                i++;
+            }
+
+            if (++digits[i] == 1) cubeValue |= 1L << i;
+
+            else
+            {
+                cubeValue &= ~( 1L << i );
+                cubeDashMask |= 1L << i;
+            }
+
+            if (cubeDashMask != 0)
+            {
+                // cofatores na primeira variavel eliminada: digito 0 e digito 1
+                int dash = Long.numberOfTrailingZeros(cubeDashMask);
+
+                cubes[cube] = (byte) ( cubes[ cube - 2 * powersOf3[dash] ] & cubes[ cube - powersOf3[dash] ] & IMPLICANT );
+            }
+        }
+    }
+
+    /**
+     * Percorre os implicantes marcando como nao primo cada um que esteja
+     * contido num implicante com uma variavel a mais eliminada.
+     *
+     * @return Primos implicantes, cada um com a mascara de variaveis
+     * eliminadas nos 32 bits mais significativos e o valor nos outros.
+     */
+
+    private static long[] getPrimes(byte[] cubes, int numberOfVariables, int[] powersOf3)
+    {
+        int[] digits = new int[numberOfVariables + 1];
+        long cubeValue = 0;
+        long cubeDashMask = 0;
+        long[] primes = new long[64];
+        int primesCounter = 0;
+
+        for (int cube = 0; cube < cubes.length; cube++)
+        {
+            if (cube > 0)
+            {
+                int i = 0;
+
+                while (digits[i] == 2)
+                {
+                    digits[i] = 0;
+                    cubeDashMask &= ~( 1L << i );
+                    i++;
+                }
+
+                if (++digits[i] == 1) cubeValue |= 1L << i;
+
+                else
+                {
+                    cubeValue &= ~( 1L << i );
+                    cubeDashMask |= 1L << i;
+                }
+            }
+
+            if (cubes[cube] == IMPLICANT)
+            {
+                for (int i = 0; cubes[cube] == IMPLICANT && i < numberOfVariables; i++)
+                {
+                    // eliminar a variavel i leva o digito dela de 0 ou 1 para 2
+                    if (digits[i] != 2 && ( cubes[ cube + ( 2 - digits[i] ) * powersOf3[i] ] & IMPLICANT ) != 0)
+                    {
+                        cubes[cube] |= NOT_PRIME;
+                    }
+                }
+
+                if (cubes[cube] == IMPLICANT)
+                {
+                    if (primesCounter == primes.length)
+                    {
+                        primes = Arrays.copyOf(primes, primes.length * 2);
+                    }
+
+                    primes[ primesCounter++ ] = ( cubeDashMask << 32 ) | cubeValue;
+                }
+            }
+        }
+
+        return Arrays.copyOf(primes, primesCounter);
+    }
+
+    private static int getTernaryIndex(long minterm, int numberOfVariables, int[] powersOf3)
+    {
+        int index = 0;
+
+        for (int i = 0; i < numberOfVariables; i++)
+        {
+            if (( minterm >>> i & 1 ) != 0) index += powersOf3[i];
+        }
+
+        return index;
+    }
+}
@@ -0,0 +1,199 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Tabela verdade imutavel de uma funcao logica com {@code numberOfVariables}
+ * variaveis, guardada como um conjunto de bits (veja a classe
+ * {@code Util.Bits}): o bit m indica se o mintermo m faz a funcao retornar 1.
+ *
+ * <p>Como a variavel mais significativa e' a que divide a tabela ao meio, os
+ * dois cofatores nela sao as duas metades dos bits. Duas tabelas com os mesmos
+ * bits sao iguais, entao elas podem ser usadas como chaves de um mapa para
+ * reaproveitar o trabalho feito com sub-tabelas repetidas.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class TruthTable
+{
+    final long[] bits;
+    final int numberOfVariables;
+    private final int hashCode;
+
+    TruthTable(long[] bits, int numberOfVariables)
+    {
+        this.bits = bits;
+        this.numberOfVariables = numberOfVariables;
+        this.hashCode = 31 * Arrays.hashCode(bits) + numberOfVariables;
+    }
+
+    /**
+     * Cria a tabela verdade da funcao que retorna 1 exatamente nos mintermos
+     * cobertos por alguma linha da tabela de mintermos.
+     *
+     * @param mintermTable tabela com os mintermos da funcao
+     * @param numberOfVariables quantidade de variaveis da funcao
+     */
+
+    TruthTable(MintermTable mintermTable, int numberOfVariables)
+    {
+        this(getBits(mintermTable, numberOfVariables), numberOfVariables);
+    }
+
+    /**
+     * Cria a tabela verdade a partir da string em que o caractere i e' '1' se
+     * o mintermo i faz a funcao retornar 1. Caso o tamanho da string nao seja
+     * potencia de 2, a tabela e' completada com 0.
+     *
+     * @param truthTable tabela verdade em forma de string
+     */
+
+    TruthTable(String truthTable)
+    {
+        this(getBits(truthTable), getNumberOfVariables(truthTable.length()));
+    }
+
+    private static int getNumberOfVariables(int numberOfMinterms)
+    {
+        return ( numberOfMinterms > 1 ? 32 - Integer.numberOfLeadingZeros(numberOfMinterms - 1) : 0 );
+    }
+
+    private static long[] getBits(String truthTable)
+    {
+        long[] bits = new long[ getNumberOfWords( getNumberOfVariables(truthTable.length()) ) ];
+
+        for (int i = 0; i < truthTable.length(); i++)
+        {
+            if (truthTable.charAt(i) == '1') bits[i >>> 6] |= 1L << i;
+        }
+
+        return bits;
+    }
+
+    private static long[] getBits(MintermTable mintermTable, int numberOfVariables)
+    {
+        long[] bits = new long[ getNumberOfWords(numberOfVariables) ];
+        long cubeValue;
+        long cubeDashMask;
+        long submask;
+
+        for (int i = 0; i < mintermTable.numberOfLines; i++)
+        {
+            cubeValue = mintermTable.getCubeValue(i);
+            cubeDashMask = mintermTable.getCubeDashMask(i);
+            submask = 0;
+
+            do
+            {
+                long minterm = cubeValue | submask;
+
+                bits[ (int) ( minterm >>> 6 ) ] |= 1L << minterm;
+                submask = ( submask - cubeDashMask ) & cubeDashMask;
+
+            } while (submask != 0);
+        }
+
+        return bits;
+    }
+
+    private static int getNumberOfWords(int numberOfVariables)
+    {
+        return ( numberOfVariables > 6 ? 1 << ( numberOfVariables - 6 ) : 1 );
+    }
+
+    /**
+     * Obtem o cofator da funcao na variavel mais significativa.
+     *
+     * @param value valor da variavel mais significativa, 0 ou 1
+     *
+     * @return Tabela verdade com uma variavel a menos.
+     */
+
+    TruthTable getCofactor(int value)
+    {
+        long[] cofactorBits;
+
+        if (numberOfVariables > 6)
+        {
+            int half = bits.length / 2;
+
+            cofactorBits = Arrays.copyOfRange(bits, value * half, ( value + 1 ) * half);
+        }
+
+        else
+        {
+            // as 2 ^ numberOfVariables entradas estao todas na mesma palavra
+            int half = 1 << ( numberOfVariables - 1 );
+
+            cofactorBits = new long[] { ( bits[0] >>> ( value * half ) ) & ( ( 1L << half ) - 1 ) };
+        }
+
+        return new TruthTable(cofactorBits, numberOfVariables - 1);
+    }
+
+    /**
+     * Obtem a tabela verdade do E logico desta funcao com outra com a mesma
+     * quantidade de variaveis.
+     */
+
+    TruthTable and(TruthTable other)
+    {
+        long[] andBits = new long[bits.length];
+
+        for (int i = 0; i < bits.length; i++)
+        {
+            andBits[i] = bits[i] & other.bits[i];
+        }
+
+        return new TruthTable(andBits, numberOfVariables);
+    }
+
+    boolean isZero()
+    {
+        boolean isZero = true;
+
+        for (int i = 0; isZero && i < bits.length; i++)
+        {
+            isZero = ( bits[i] == 0 );
+        }
+
+        return isZero;
+    }
+
+    boolean isOne()
+    {
+        long fullWord = ( numberOfVariables >= 6 ? -1L : ( 1L << ( 1 << numberOfVariables ) ) - 1 );
+        boolean isOne = true;
+
+        for (int i = 0; isOne && i < bits.length; i++)
+        {
+            isOne = ( bits[i] == fullWord );
+        }
+
+        return isOne;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        boolean equals = ( this == object );
+
+        if (!equals && object instanceof TruthTable)
+        {
+            TruthTable other = (TruthTable) object;
+
+            equals = ( hashCode == other.hashCode &&
+                    numberOfVariables == other.numberOfVariables &&
+                    Arrays.equals(bits, other.bits) );
+        }
+
+        return equals;
+    }
+}
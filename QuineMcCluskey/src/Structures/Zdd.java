@@ -0,0 +1,173 @@
+package Structures;
+
+import java.util.Arrays;
+
+/**
+ * Diagrama de decisao com supressao de zeros, que representa uma familia de
+ * conjuntos: cada caminho da raiz ate' o terminal {@code BASE} e' um conjunto
+ * com as variaveis dos nos em que o caminho segue o filho 1. O terminal
+ * {@code EMPTY} e' a familia vazia e {@code BASE} e' a familia que so' tem o
+ * conjunto vazio.
+ *
+ * <p>Um no cujo filho 1 e' {@code EMPTY} nunca e' criado, entao as variaveis
+ * ausentes de todos os conjuntos nao ocupam nos. Por isso o ZDD e' compacto
+ * para familias de cubos, em que cada cubo tem poucos literais dentre os
+ * 2 * n possiveis.</p>
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+class Zdd
+{
+    static final int EMPTY = 0;
+    static final int BASE = 1;
+
+    private static final int UNION = 0;
+    private static final int DIFFERENCE = 1;
+
+    DecisionNodes nodes = new DecisionNodes(1 << 10);
+    OperationCache cache = new OperationCache(18);
+    // quantidade de conjuntos de cada no, -1 se ainda nao foi contada
+    long[] counts = new long[0];
+
+    int getVariable(int node)
+    {
+        return nodes.variables[node];
+    }
+
+    int getLow(int node)
+    {
+        return nodes.lows[node];
+    }
+
+    int getHigh(int node)
+    {
+        return nodes.highs[node];
+    }
+
+    int getNode(int variable, int low, int high)
+    {
+        return ( high == EMPTY ? low : nodes.getNode(variable, low, high) );
+    }
+
+    /**
+     * Obtem a sub-familia dos conjuntos que nao tem a variavel, que deve ser
+     * maior ou igual a' variavel do no.
+     */
+
+    int getSubsetWithout(int node, int variable)
+    {
+        return ( getVariable(node) == variable ? getLow(node) : node );
+    }
+
+    /**
+     * Obtem a sub-familia dos conjuntos que tem a variavel, sem ela.
+     */
+
+    int getSubsetWith(int node, int variable)
+    {
+        return ( getVariable(node) == variable ? getHigh(node) : EMPTY );
+    }
+
+    int union(int node1, int node2)
+    {
+        int result;
+
+        if (node1 == EMPTY || node1 == node2) result = node2;
+        else if (node2 == EMPTY) result = node1;
+
+        else
+        {
+            if (node1 > node2)
+            {
+                int node = node1;
+
+                node1 = node2;
+                node2 = node;
+            }
+
+            result = cache.get(UNION, node1, node2);
+
+            if (result == -1)
+            {
+                int variable = Math.max(getVariable(node1), getVariable(node2));
+
+                result = getNode(variable,
+                        union(getSubsetWithout(node1, variable), getSubsetWithout(node2, variable)),
+                        union(getSubsetWith(node1, variable), getSubsetWith(node2, variable)));
+
+                cache.put(UNION, node1, node2, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Obtem a familia dos conjuntos de {@code node1} que nao estao em
+     * {@code node2}.
+     */
+
+    int difference(int node1, int node2)
+    {
+        int result;
+
+        if (node1 == EMPTY || node1 == node2) result = EMPTY;
+        else if (node2 == EMPTY) result = node1;
+
+        else
+        {
+            result = cache.get(DIFFERENCE, node1, node2);
+
+            if (result == -1)
+            {
+                int variable1 = getVariable(node1);
+
+                // os conjuntos de node2 com a variavel de uma raiz maior nao
+                // estao em node1 e nao precisam ser removidos
+                if (variable1 < getVariable(node2))
+                {
+                    result = difference(node1, getLow(node2));
+                }
+
+                else
+                {
+                    result = getNode(variable1,
+                            difference(getLow(node1), getSubsetWithout(node2, variable1)),
+                            difference(getHigh(node1), getSubsetWith(node2, variable1)));
+                }
+
+                cache.put(DIFFERENCE, node1, node2, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Conta os conjuntos da familia sem percorre-los, somando as contagens dos
+     * dois filhos de cada no uma vez so'.
+     *
+     * @return Quantidade de conjuntos da familia.
+     */
+
+    long count(int node)
+    {
+        if (counts.length < nodes.numberOfNodes)
+        {
+            int oldLength = counts.length;
+
+            counts = Arrays.copyOf(counts, nodes.variables.length);
+            Arrays.fill(counts, oldLength, counts.length, -1);
+            counts[EMPTY] = 0;
+            counts[BASE] = 1;
+        }
+
+        if (counts[node] == -1)
+        {
+            counts[node] = count(getLow(node)) + count(getHigh(node));
+        }
+
+        return counts[node];
+    }
+}
@@ -0,0 +1,207 @@
+package Util;
+
+/**
+ * Operacoes sobre conjuntos de bits guardados em arranjos de {@code long},
+ * em que o bit {@code i} do conjunto fica no bit {@code i % 64} da posicao
+ * {@code i / 64} do arranjo. As operacoes entre conjuntos sao feitas 64 bits
+ * por vez.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class Bits
+{
+    /**
+     * Cria um conjunto vazio com espaco para {@code numberOfBits} bits.
+     *
+     * @param numberOfBits quantidade de bits do conjunto
+     *
+     * @return Arranjo de {@code long} com todos os bits desligados.
+     */
+
+    public static long[] create(int numberOfBits)
+    {
+        return new long[ ( numberOfBits + 63 ) >>> 6 ];
+    }
+
+    /**
+     * Cria um conjunto com os bits de 0 ate' {@code numberOfBits} - 1 ligados.
+     *
+     * @param numberOfBits quantidade de bits do conjunto
+     *
+     * @return Arranjo de {@code long} com os {@code numberOfBits} primeiros bits
+     * ligados.
+     */
+
+    public static long[] createFull(int numberOfBits)
+    {
+        long[] bits = create(numberOfBits);
+
+        for (int i = 0; i < bits.length; i++)
+        {
+            bits[i] = -1L;
+        }
+
+        if (( numberOfBits & 63 ) != 0)
+        {
+            bits[bits.length - 1] = ( 1L << numberOfBits ) - 1;
+        }
+
+        return bits;
+    }
+
+    public static boolean get(long[] bits, int index)
+    {
+        return ( bits[index >>> 6] & ( 1L << index ) ) != 0;
+    }
+
+    public static void set(long[] bits, int index)
+    {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    public static void clear(long[] bits, int index)
+    {
+        bits[index >>> 6] &= ~( 1L << index );
+    }
+
+    /**
+     * Conta quantos bits estao ligados no conjunto.
+     *
+     * @param bits conjunto de bits
+     *
+     * @return Quantidade de bits ligados.
+     */
+
+    public static int cardinality(long[] bits)
+    {
+        int cardinality = 0;
+
+        for (int i = 0; i < bits.length; i++)
+        {
+            cardinality += Long.bitCount(bits[i]);
+        }
+
+        return cardinality;
+    }
+
+    /**
+     * Conta quantos bits estao ligados nos dois conjuntos ao mesmo tempo, sem
+     * criar o conjunto intersecao.
+     *
+     * @param bits1 primeiro conjunto
+     * @param bits2 segundo conjunto, do mesmo tamanho do primeiro
+     *
+     * @return Quantidade de bits ligados na intersecao dos conjuntos.
+     */
+
+    public static int cardinalityOfAnd(long[] bits1, long[] bits2)
+    {
+        int cardinality = 0;
+
+        for (int i = 0; i < bits1.length; i++)
+        {
+            cardinality += Long.bitCount(bits1[i] & bits2[i]);
+        }
+
+        return cardinality;
+    }
+
+    /**
+     * Desliga em {@code bits} todos os bits que estiverem ligados em
+     * {@code bitsToClear}.
+     *
+     * @param bits conjunto a ser modificado
+     * @param bitsToClear conjunto, do mesmo tamanho, com os bits a desligar
+     */
+
+    public static void andNot(long[] bits, long[] bitsToClear)
+    {
+        for (int i = 0; i < bits.length; i++)
+        {
+            bits[i] &= ~bitsToClear[i];
+        }
+    }
+
+    public static boolean isEmpty(long[] bits)
+    {
+        boolean isEmpty = true;
+
+        for (int i = 0; isEmpty && i < bits.length; i++)
+        {
+            isEmpty = ( bits[i] == 0 );
+        }
+
+        return isEmpty;
+    }
+
+    /**
+     * Procura o primeiro bit ligado a partir da posicao {@code fromIndex}.
+     *
+     * @param bits conjunto de bits
+     * @param fromIndex posicao a partir da qual a procura comeca
+     *
+     * @return Posicao do primeiro bit ligado ou -1 caso nao exista.
+     */
+
+    public static int nextSetBit(long[] bits, int fromIndex)
+    {
+        int wordIndex = fromIndex >>> 6;
+        int index = -1;
+
+        if (wordIndex < bits.length)
+        {
+            long word = bits[wordIndex] & ( -1L << fromIndex );
+
+            while (word == 0 && ++wordIndex < bits.length)
+            {
+                word = bits[wordIndex];
+            }
+
+            if (word != 0)
+            {
+                index = ( wordIndex << 6 ) + Long.numberOfTrailingZeros(word);
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Mantem em {@code bits} apenas os bits que tambem estiverem ligados em
+     * {@code otherBits}.
+     *
+     * @param bits conjunto a ser modificado
+     * @param otherBits conjunto, do mesmo tamanho, com os bits a manter
+     */
+
+    public static void and(long[] bits, long[] otherBits)
+    {
+        for (int i = 0; i < bits.length; i++)
+        {
+            bits[i] &= otherBits[i];
+        }
+    }
+
+    /**
+     * Verifica se todos os bits ligados em {@code bits} tambem estao ligados
+     * em {@code otherBits}.
+     *
+     * @param bits conjunto que pode estar contido
+     * @param otherBits conjunto, do mesmo tamanho, que pode conter o primeiro
+     *
+     * @return {@code true} se {@code bits} estiver contido em {@code otherBits}.
+     */
+
+    public static boolean isSubsetOf(long[] bits, long[] otherBits)
+    {
+        boolean isSubset = true;
+
+        for (int i = 0; isSubset && i < bits.length; i++)
+        {
+            isSubset = ( ( bits[i] & ~otherBits[i] ) == 0 );
+        }
+
+        return isSubset;
+    }
+}
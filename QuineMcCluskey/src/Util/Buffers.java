@@ -0,0 +1,69 @@
+package Util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Operacoes sobre buffers fora do heap, como os criados por
+ * {@code ByteBuffer.allocateDirect} e {@code FileChannel.map}.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class Buffers
+{
+    /**
+     * Devolve ao sistema a memoria de um buffer direto, ou desfaz o
+     * mapeamento de um buffer mapeado, sem esperar o coletor de lixo. A
+     * partir do Java 9 isso e' feito por Unsafe.invokeCleaner e, no Java 8,
+     * pelo Cleaner do proprio buffer. Se nenhum dos dois estiver acessivel, a
+     * memoria so' e' devolvida quando o buffer for coletado.
+     *
+     * <p>O buffer, e qualquer visao dele como {@code asLongBuffer}, nao pode
+     * mais ser usado depois da chamada: o acesso a uma memoria ja' devolvida
+     * derruba a maquina virtual em vez de lancar uma excecao.</p>
+     *
+     * @param buffer buffer direto ou mapeado criado pelo proprio Java, e nao
+     * uma fatia ou copia dele
+     */
+
+    public static void free(ByteBuffer buffer)
+    {
+        if (buffer != null && buffer.isDirect())
+        {
+            try
+            {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            }
+
+            catch (NoSuchMethodException ex)
+            {
+                try
+                {
+                    Method getCleaner = buffer.getClass().getMethod("cleaner");
+
+                    getCleaner.setAccessible(true);
+                    Object cleaner = getCleaner.invoke(buffer);
+
+                    if (cleaner != null) cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+
+                catch (ReflectiveOperationException | RuntimeException ignored)
+                {
+                    // fica para o coletor de lixo
+                }
+            }
+
+            catch (ReflectiveOperationException | RuntimeException ignored)
+            {
+                // fica para o coletor de lixo
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package Util;
+
+import java.util.Arrays;
+
+/**
+ * Lista de {@code int} que cresce conforme a necessidade, sem criar um
+ * {@code Integer} por valor. Substitui os arranjos preenchidos com -1 que
+ * andavam junto com um contador de elementos: o tamanho fica na propria
+ * lista e nao e' preciso reservar o pior caso de antemao.
+ *
+ * @author Axell Brendow ( https://github.com/axell-brendow )
+ */
+
+public class IntArrayList
+{
+    int[] values;
+    int size;
+
+    public IntArrayList()
+    {
+        this(8);
+    }
+
+    public IntArrayList(int initialCapacity)
+    {
+        this.values = new int[ Math.max(1, initialCapacity) ];
+        this.size = 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Esvazia a lista mantendo o arranjo para que possa ser reaproveitado.
+     */
+
+    public void clear()
+    {
+        size = 0;
+    }
+
+    public int get(int index)
+    {
+        if (index >= size)
+        {
+            throw new IndexOutOfBoundsException("Indice: " + index + ", tamanho: " + size);
+        }
+
+        return values[index];
+    }
+
+    public void set(int index, int value)
+    {
+        if (index >= size)
+        {
+            throw new IndexOutOfBoundsException("Indice: " + index + ", tamanho: " + size);
+        }
+
+        values[index] = value;
+    }
+
+    public void add(int value)
+    {
+        if (size == values.length)
+        {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+
+        values[size++] = value;
+    }
+
+    /**
+     * Adiciona todos os valores do arranjo no final da lista.
+     *
+     * @param array valores a serem adicionados
+     */
+
+    public void addAll(int[] array)
+    {
+        if (size + array.length > values.length)
+        {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + array.length));
+        }
+
+        System.arraycopy(array, 0, values, size, array.length);
+        size += array.length;
+    }
+
+    /**
+     * Copia os valores da lista, na ordem em que foram adicionados, para um
+     * arranjo do tamanho exato da lista.
+     *
+     * @return Arranjo com os {@code size()} valores da lista.
+     */
+
+    public int[] toArray()
+    {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -55,4 +55,106 @@ public class Logic
         
         return newBinary;
     }
+    
+    /**
+     * Versao do metodo getHammingDistance para cubos compactos. Uma posicao
+     * conta como diferente quando apenas um dos cubos tem '_' nela ou quando
+     * nenhum dos dois tem '_' e os valores sao diferentes, exatamente como na
+     * comparacao caractere a caractere.
+     * 
+     * <p>Os bits de valor nas posicoes com '_' precisam estar desligados.</p>
+     * 
+     * @param value1 bits de valor do primeiro cubo
+     * @param dashMask1 mascara de variaveis eliminadas do primeiro cubo
+     * @param value2 bits de valor do segundo cubo
+     * @param dashMask2 mascara de variaveis eliminadas do segundo cubo
+     * 
+     * @return Quantas posicoes diferentes os cubos tem.
+     */
+    
+    public static int getHammingDistance(long value1, long dashMask1, long value2, long dashMask2)
+    {
+        return Long.bitCount( ( value1 ^ value2 ) | ( dashMask1 ^ dashMask2 ) );
+    }
+    
+    /**
+     * Versao do metodo removeBitOfHammingDistance1 para cubos compactos que
+     * gera apenas os bits de valor do novo cubo. Nao aloca nada.
+     * 
+     * <p>Ex: removeBitOfHammingDistance1FromValue(0, 0, 2, 0) = 0, ou seja,
+     * { '0', '0' } com { '0', '1' } gera os valores de { '0', '_' }.</p>
+     * 
+     * @param value1 bits de valor do primeiro cubo
+     * @param dashMask1 mascara de variaveis eliminadas do primeiro cubo
+     * @param value2 bits de valor do segundo cubo
+     * @param dashMask2 mascara de variaveis eliminadas do segundo cubo
+     * 
+     * @return Bits de valor do cubo com '_' onde os cubos sao diferentes.
+     */
+    
+    public static long removeBitOfHammingDistance1FromValue(long value1, long dashMask1, long value2, long dashMask2)
+    {
+        return value1 & ~( ( value1 ^ value2 ) | ( dashMask1 ^ dashMask2 ) );
+    }
+    
+    /**
+     * Versao do metodo removeBitOfHammingDistance1 para cubos compactos que
+     * gera apenas a mascara de variaveis eliminadas do novo cubo. Nao aloca nada.
+     * 
+     * <p>Ex: removeBitOfHammingDistance1FromDashMask(0, 0, 2, 0) = 2, ou seja,
+     * { '0', '0' } com { '0', '1' } gera a mascara de { '0', '_' }.</p>
+     * 
+     * @param value1 bits de valor do primeiro cubo
+     * @param dashMask1 mascara de variaveis eliminadas do primeiro cubo
+     * @param value2 bits de valor do segundo cubo
+     * @param dashMask2 mascara de variaveis eliminadas do segundo cubo
+     * 
+     * @return Mascara do cubo com '_' onde os cubos sao diferentes.
+     */
+    
+    public static long removeBitOfHammingDistance1FromDashMask(long value1, long dashMask1, long value2, long dashMask2)
+    {
+        return dashMask1 | ( value1 ^ value2 ) | ( dashMask1 ^ dashMask2 );
+    }
+    
+    /**
+     * Verifica se dois cubos compactos tem algum mintermo em comum, ou seja,
+     * se nao ha' posicao em que nenhum dos dois tem '_' e os valores sao
+     * diferentes.
+     * 
+     * <p>Os bits de valor nas posicoes com '_' precisam estar desligados.</p>
+     * 
+     * @param value1 bits de valor do primeiro cubo
+     * @param dashMask1 mascara de variaveis eliminadas do primeiro cubo
+     * @param value2 bits de valor do segundo cubo
+     * @param dashMask2 mascara de variaveis eliminadas do segundo cubo
+     * 
+     * @return {@code true} se a intersecao dos cubos nao for vazia.
+     */
+    
+    public static boolean intersects(long value1, long dashMask1, long value2, long dashMask2)
+    {
+        return ( ( value1 ^ value2 ) & ~( dashMask1 | dashMask2 ) ) == 0;
+    }
+    
+    /**
+     * Verifica se todos os mintermos do segundo cubo compacto estao no
+     * primeiro, ou seja, se o primeiro cubo tem '_' em todas as posicoes em
+     * que o segundo tem e os dois tem os mesmos valores nas outras posicoes
+     * do primeiro.
+     * 
+     * <p>Ex: contains(0, 3, 2, 0) = true, pois { '_', '_' } contem { '1', '0' }.</p>
+     * 
+     * @param value1 bits de valor do primeiro cubo
+     * @param dashMask1 mascara de variaveis eliminadas do primeiro cubo
+     * @param value2 bits de valor do segundo cubo
+     * @param dashMask2 mascara de variaveis eliminadas do segundo cubo
+     * 
+     * @return {@code true} se o primeiro cubo contem o segundo.
+     */
+    
+    public static boolean contains(long value1, long dashMask1, long value2, long dashMask2)
+    {
+        return ( ( ( value1 ^ value2 ) | dashMask2 ) & ~dashMask1 ) == 0;
+    }
 }
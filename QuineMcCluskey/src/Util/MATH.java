@@ -121,4 +121,80 @@ public class MATH
         
         return decimal;
     }
+    
+    /**
+     * Converte um binario, simplificado ou nao por Quine McCluskey, no formato
+     * little endian para os bits de valor do cubo compacto. O bit i do retorno
+     * e' ligado quando a posicao i do binario for '1'. Posicoes com '_'
+     * (underline) ficam sempre com o bit desligado.
+     * 
+     * <p>Ex: binaryToCubeValue( { '1', '_', '1' } ) = 5 (101 em binario)</p>
+     * 
+     * @param binary binario, com no maximo 64 digitos, a ser convertido
+     * 
+     * @return Bits de valor do cubo compacto.
+     */
+    
+    public static long binaryToCubeValue(char[] binary)
+    {
+        long value = 0;
+        
+        for (int i = 0; i < binary.length; i++)
+        {
+            if (binary[i] == '1') value |= 1L << i;
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Converte um binario, simplificado ou nao por Quine McCluskey, no formato
+     * little endian para a mascara de variaveis eliminadas do cubo compacto.
+     * O bit i do retorno e' ligado quando a posicao i do binario for '_'.
+     * 
+     * <p>Ex: binaryToCubeDashMask( { '1', '_', '1' } ) = 2 (010 em binario)</p>
+     * 
+     * @param binary binario, com no maximo 64 digitos, a ser convertido
+     * 
+     * @return Mascara de variaveis eliminadas do cubo compacto.
+     */
+    
+    public static long binaryToCubeDashMask(char[] binary)
+    {
+        long dashMask = 0;
+        
+        for (int i = 0; i < binary.length; i++)
+        {
+            if (binary[i] == '_') dashMask |= 1L << i;
+        }
+        
+        return dashMask;
+    }
+    
+    /**
+     * Faz o caminho inverso dos metodos binaryToCubeValue e binaryToCubeDashMask,
+     * gerando o binario little endian equivalente ao cubo compacto.
+     * 
+     * <p>Ex: cubeToBinary(5, 2, 3) = { '1', '_', '1' }</p>
+     * 
+     * @param cubeValue bits de valor do cubo
+     * @param cubeDashMask mascara de variaveis eliminadas do cubo
+     * @param numberOfDigits numero de digitos desejados para o binario
+     * 
+     * @return Binario little endian equivalente ao cubo compacto.
+     */
+    
+    public static char[] cubeToBinary(long cubeValue, long cubeDashMask, int numberOfDigits)
+    {
+        char[] binary = new char[numberOfDigits];
+        
+        for (int i = 0; i < numberOfDigits; i++)
+        {
+            if (( cubeDashMask >>> i & 1 ) == 1) binary[i] = '_';
+            
+            else binary[i] = ( ( cubeValue >>> i & 1 ) == 1 ? '1' : '0' );
+        }
+        
+        return binary;
+    }
 }